@@ -16,6 +16,20 @@ class CompareRequest(BaseModel):
     question: str
     candidateList: List[Candidate]
 
+class CompareBatchRequest(BaseModel):
+    items: List[CompareRequest]
+
+def rank(candidates, scores):
+    # score와 candidate 객체를 튜플로 묶고 내림차순 정렬
+    ranked = sorted(zip(candidates, scores), key=lambda x: x[1], reverse=True)
+    # 유사도가 6 이상인 것만 필터링
+    filtered = [(c, s) for c, s in ranked if s >= 6]
+
+    # 상위 3개만 추출
+    top3 = filtered[:3]
+    # 결과 반환 (termId, answer, score 포함)
+    return [{"termId": c.termId, "answer": c.answer, "score": float(s)} for c, s in top3]
+
 @router.post("/compare")
 def compare(req: CompareRequest):
     question = req.question
@@ -26,15 +40,20 @@ def compare(req: CompareRequest):
     
     # 각 candidate.answer와 question 점수 계산
     scores = model.predict([(question, c.answer) for c in candidates])
-
-    # score와 candidate 객체를 튜플로 묶고 내림차순 정렬
-    ranked = sorted(zip(candidates, scores), key=lambda x: x[1], reverse=True)
-    # 유사도가 5 이상인 것만 필터링
-    filtered = [(c, s) for c, s in ranked if s >= 6]
-
-    # 상위 3개만 추출
-    top3 = filtered[:3]
-    # 결과 반환 (termId, answer, score 포함)
-    result = [{"termId": c.termId, "answer": c.answer, "score": float(s)} for c, s in top3]
-    return {"results": result}
+    return {"results": rank(candidates, scores)}
+
+@router.post("/compare/batch")
+def compare_batch(req: CompareBatchRequest):
+    # 여러 질문의 (question, answer) 쌍을 한 번의 predict 로 계산한 뒤 질문별로 나눔
+    pairs = [(item.question, c.answer) for item in req.items for c in item.candidateList]
+    scores = model.predict(pairs) if pairs else []
+
+    results = []
+    offset = 0
+    for item in req.items:
+        size = len(item.candidateList)
+        results.append(rank(item.candidateList, scores[offset:offset + size]))
+        offset += size
+    # 요청 items 와 같은 순서
+    return {"results": results}
 
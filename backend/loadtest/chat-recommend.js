@@ -0,0 +1,52 @@
+// k6 부하 테스트 : 챗봇 / 상품 추천 동시 처리량 비교 (플랫폼 스레드 vs 가상 스레드)
+// 실행 : k6 run -e BASE_URL=http://localhost:8080 -e MAX_VUS=400 loadtest/chat-recommend.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MAX_VUS = Number(__ENV.MAX_VUS || 400);
+
+const QUESTIONS = [
+    'DC형이랑 DB형 차이가 뭐야?',
+    'IRP 세액공제 한도가 얼마야?',
+    '퇴직연금 ETF 는 어떻게 골라?',
+    '채권형 펀드는 안전한가요?',
+];
+
+// 동시 사용자를 단계적으로 늘려 처리량이 꺾이는 지점을 찾는다
+const ramp = [
+    { duration: '1m', target: Math.round(MAX_VUS / 4) },
+    { duration: '1m', target: Math.round(MAX_VUS / 2) },
+    { duration: '1m', target: MAX_VUS },
+    { duration: '1m', target: MAX_VUS },
+];
+
+export const options = {
+    scenarios: {
+        chat: { executor: 'ramping-vus', exec: 'chat', stages: ramp },
+        recommend: { executor: 'ramping-vus', exec: 'recommend', stages: ramp },
+    },
+    thresholds: {
+        'http_req_duration{scenario:chat}': ['p(95)<15000'],
+        'http_req_duration{scenario:recommend}': ['p(95)<5000'],
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export function chat() {
+    const message = QUESTIONS[Math.floor(Math.random() * QUESTIONS.length)];
+    const res = http.post(`${BASE_URL}/chat/send/`, JSON.stringify({ message }), {
+        headers: { 'Content-Type': 'application/json' },
+        timeout: '60s',
+    });
+    check(res, { 'chat 200': (r) => r.status === 200 });
+}
+
+export function recommend() {
+    const type = Math.random() < 0.5 ? 'dc' : 'irp';
+    const grade = 1 + Math.floor(Math.random() * 5);
+    const res = http.get(`${BASE_URL}/recommend/public/compare/${type}?investorPersonalityId=${grade}&salary=40000000`, {
+        timeout: '60s',
+    });
+    check(res, { 'recommend 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,58 @@
+package com.ygss.backend.recommend.component;
+
+import com.ygss.backend.recommend.dto.ProductRequestDto;
+import com.ygss.backend.recommend.dto.RecommendPortfolioResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PortfolioOptimizer greedy 전용 풀이(optimize) vs ojalgo LP(optimizeWithModel)
+ * ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PortfolioOptimizerBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private final PortfolioOptimizer portfolioOptimizer = new PortfolioOptimizer();
+    private List<ProductRequestDto> products;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ProductRequestDto product = new ProductRequestDto();
+            product.setId((long) i);
+            product.setAssetType(i % 2 == 0 ? "etf" : "fund");
+            product.setRiskGradeId((long) (1 + random.nextInt(5)));
+            // next_year_profit_rate 분포와 비슷하게 0 ~ 20 (%)
+            product.setPredictedReturn(random.nextDouble() * 20.0);
+            product.setReserve((long) random.nextInt(1_000_000));
+            products.add(product);
+        }
+    }
+
+    @Benchmark
+    public RecommendPortfolioResponse greedy() {
+        return portfolioOptimizer.optimize(products);
+    }
+
+    @Benchmark
+    public RecommendPortfolioResponse ojalgo() {
+        return portfolioOptimizer.optimizeWithModel(products);
+    }
+}
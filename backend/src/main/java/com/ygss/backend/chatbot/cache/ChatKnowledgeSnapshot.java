@@ -0,0 +1,136 @@
+package com.ygss.backend.chatbot.cache;
+
+import com.ygss.backend.chatbot.dto.ChatDummyResponseDto;
+import com.ygss.backend.chatbot.dto.TermDictionaryResponseDto;
+import com.ygss.backend.chatbot.event.ChatKnowledgeChangedEvent;
+import com.ygss.backend.chatbot.repository.ChatDummyRepository;
+import com.ygss.backend.chatbot.repository.TermDictionaryRepository;
+import com.ygss.backend.chatbot.term.TermAutomaton;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * chat_dummy / term_dictionary 메모리 스냅샷
+ * 두 테이블 모두 작고 거의 바뀌지 않으므로 전체를 올려두고 채팅 요청마다 DB 를 조회하지 않는다.
+ * - 기동 시 / ChatKnowledgeChangedEvent 수신 시 전체 재적재 (참조 교체)
+ * - 스냅샷에 없는 id 는 IN 조회 한 번으로 보충 (적재 전 요청, 적재 이후 추가된 행)
+ * - 용어 목록으로 질문 내 용어 탐지용 Aho-Corasick 오토마톤도 함께 재생성
+ */
+@Slf4j
+@Component
+public class ChatKnowledgeSnapshot {
+    private final ChatDummyRepository chatDummyRepository;
+    private final TermDictionaryRepository termDictionaryRepository;
+    private final boolean enabled;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Map<Long, ChatDummyResponseDto> chatDummies = Map.of();
+    private volatile Map<Long, TermDictionaryResponseDto> terms = Map.of();
+    private volatile TermAutomaton termAutomaton = TermAutomaton.empty();
+
+    public ChatKnowledgeSnapshot(ChatDummyRepository chatDummyRepository,
+                                 TermDictionaryRepository termDictionaryRepository,
+                                 @Value("${chatbot.knowledge-snapshot.enabled:true}") boolean enabled) {
+        this.chatDummyRepository = chatDummyRepository;
+        this.termDictionaryRepository = termDictionaryRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // DB 가 아직 준비되지 않았어도 IN 조회로 동작하므로 기동은 계속
+            log.warn("Chat Knowledge Snapshot Load Failed : {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onKnowledgeChanged(ChatKnowledgeChangedEvent event) {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 이전 스냅샷을 그대로 쓰고, 없는 id 는 IN 조회로 보충
+            log.error("Chat Knowledge Snapshot Reload Failed : {}", e.getMessage());
+        }
+    }
+
+    public void reload() {
+        reloadLock.lock();
+        try {
+            if (!enabled) return;
+
+            Map<Long, ChatDummyResponseDto> loadedChatDummies = new HashMap<>();
+            chatDummyRepository.selectAllChatDummy().forEach((chatDummy) -> loadedChatDummies.put(chatDummy.getId(), chatDummy));
+            List<TermDictionaryResponseDto> termList = termDictionaryRepository.selectAllTerm();
+            Map<Long, TermDictionaryResponseDto> loadedTerms = new HashMap<>();
+            termList.forEach((term) -> loadedTerms.put(term.getId(), term));
+
+            chatDummies = Map.copyOf(loadedChatDummies);
+            terms = Map.copyOf(loadedTerms);
+            termAutomaton = TermAutomaton.build(termList);
+            log.info("Chat Knowledge Snapshot Loaded : chat_dummy {}, term_dictionary {} (automaton {} terms)",
+                    chatDummies.size(), terms.size(), termAutomaton.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * @return
+     * : id -> chat_dummy 행 (존재하지 않는 id 는 빠짐)
+     */
+    public Map<Long, ChatDummyResponseDto> findChatDummies(Collection<Long> ids) {
+        Map<Long, ChatDummyResponseDto> snapshot = chatDummies;
+        Map<Long, ChatDummyResponseDto> found = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            ChatDummyResponseDto chatDummy = snapshot.get(id);
+            if (chatDummy != null) found.put(id, chatDummy);
+            else missing.add(id);
+        }
+        if (!missing.isEmpty()) {
+            chatDummyRepository.selectChatDummyByIds(missing).forEach((chatDummy) -> found.put(chatDummy.getId(), chatDummy));
+        }
+        return found;
+    }
+
+    /**
+     * @return
+     * : id -> term_dictionary 행 (존재하지 않는 id 는 빠짐)
+     */
+    public Map<Long, TermDictionaryResponseDto> findTerms(Collection<Long> ids) {
+        Map<Long, TermDictionaryResponseDto> snapshot = terms;
+        Map<Long, TermDictionaryResponseDto> found = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            TermDictionaryResponseDto term = snapshot.get(id);
+            if (term != null) found.put(id, term);
+            else missing.add(id);
+        }
+        if (!missing.isEmpty()) {
+            termDictionaryRepository.selectTermsByIds(missing).forEach((term) -> found.put(term.getId(), term));
+        }
+        return found;
+    }
+
+    /**
+     * @return
+     * : 질문에 등장한 term_dictionary 용어 (등장 순서)
+     */
+    public List<TermAutomaton.TermMatch> matchTerms(String question) {
+        return termAutomaton.find(question);
+    }
+}
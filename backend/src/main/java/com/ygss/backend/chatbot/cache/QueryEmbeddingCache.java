@@ -0,0 +1,164 @@
+package com.ygss.backend.chatbot.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.JedisPooled;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 정규화된 질문 텍스트 → 임베딩 캐시
+ * - 프로세스 내 LRU + TTL (float[] 그대로 보관)
+ * - redis-enabled 이면 Redis 에도 float32 바이트로 저장해 다른 인스턴스와 공유
+ * 같은 질문이 다시 들어오면 외부 임베딩 API 호출을 건너뛴다.
+ */
+@Slf4j
+@Component
+public class QueryEmbeddingCache {
+    private static final String REDIS_KEY_PREFIX = "chatbot:embedding:";
+
+    private final JedisPooled jedis;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final boolean redisEnabled;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final Counter hitCounter;
+    private final Counter redisHitCounter;
+    private final Counter missCounter;
+
+    public QueryEmbeddingCache(JedisPooled jedis,
+                               MeterRegistry meterRegistry,
+                               @Value("${chatbot.embedding-cache.max-size:10000}") int maxSize,
+                               @Value("${chatbot.embedding-cache.ttl-minutes:1440}") long ttlMinutes,
+                               @Value("${chatbot.embedding-cache.redis-enabled:false}") boolean redisEnabled) {
+        this.jedis = jedis;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMinutes * 60_000L;
+        this.redisEnabled = redisEnabled;
+        // access-order LinkedHashMap : 가장 오래 안 쓴 항목부터 제거
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > QueryEmbeddingCache.this.maxSize;
+            }
+        };
+
+        this.hitCounter = Counter.builder("chatbot.embedding.cache").tag("result", "hit").register(meterRegistry);
+        this.redisHitCounter = Counter.builder("chatbot.embedding.cache").tag("result", "redis_hit").register(meterRegistry);
+        this.missCounter = Counter.builder("chatbot.embedding.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("chatbot.embedding.cache.size", this, QueryEmbeddingCache::size).register(meterRegistry);
+    }
+
+    /**
+     * @return
+     * : 캐시된 임베딩, 없으면 null
+     */
+    public float[] get(String normalizedText) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Entry entry = entries.get(normalizedText);
+            if (entry != null) {
+                if (entry.expireAt > now) {
+                    hitCounter.increment();
+                    return entry.embedding;
+                }
+                entries.remove(normalizedText);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (redisEnabled) {
+            float[] embedding = getFromRedis(normalizedText);
+            if (embedding != null) {
+                redisHitCounter.increment();
+                putLocal(normalizedText, embedding, now);
+                return embedding;
+            }
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    public void put(String normalizedText, float[] embedding) {
+        putLocal(normalizedText, embedding, System.currentTimeMillis());
+        if (redisEnabled) {
+            try {
+                jedis.psetex(redisKey(normalizedText), ttlMillis, toBytes(embedding));
+            } catch (Exception e) {
+                log.warn("Save Embedding Cache To Redis Failed : {}", e.getMessage());
+            }
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putLocal(String normalizedText, float[] embedding, long now) {
+        lock.lock();
+        try {
+            entries.put(normalizedText, new Entry(embedding, now + ttlMillis));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private float[] getFromRedis(String normalizedText) {
+        try {
+            byte[] bytes = jedis.get(redisKey(normalizedText));
+            return bytes == null ? null : fromBytes(bytes);
+        } catch (Exception e) {
+            log.warn("Load Embedding Cache From Redis Failed : {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] redisKey(String normalizedText) {
+        return (REDIS_KEY_PREFIX + normalizedText).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] toBytes(float[] embedding) {
+        ByteBuffer buffer = ByteBuffer.allocate(embedding.length * 4);
+        for (float v : embedding) {
+            buffer.putFloat(v);
+        }
+        return buffer.array();
+    }
+
+    private float[] fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        float[] embedding = new float[bytes.length / 4];
+        for (int i = 0; i < embedding.length; i++) {
+            embedding[i] = buffer.getFloat();
+        }
+        return embedding;
+    }
+
+    private static final class Entry {
+        private final float[] embedding;
+        private final long expireAt;
+
+        private Entry(float[] embedding, long expireAt) {
+            this.embedding = embedding;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.ygss.backend.chatbot.cache;
+
+import com.ygss.backend.chatbot.event.ChatKnowledgeChangedEvent;
+import com.ygss.backend.global.redis.VectorMath;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 의미 기반 답변 캐시
+ * 새 질문의 임베딩이 캐시된 질문과 코사인 유사도 threshold 이상이면 저장된 답변을 그대로 사용해
+ * rerank(FastAPI) 와 LLM 호출을 건너뛴다.
+ * - 이전 대화가 없는 세션의 질문/답변만 저장하고 조회한다 (대화 맥락이 답변을 바꾸지 않는 경우)
+ * - TTL / 최대 개수(LRU) 기준으로 제거
+ * - 조회는 put / 무효화 때마다 새로 만드는 배열 스냅샷을 락 없이 훑고, 락은 LRU 순서 갱신과 저장에만 사용
+ * - chat_dummy, term_dictionary 변경 시 전체 무효화
+ */
+@Slf4j
+@Component
+public class SemanticAnswerCache {
+    private final boolean enabled;
+    private final double threshold;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // LRU 순서 / 제거 기준 (lock 안에서만 접근)
+    private final LinkedHashMap<String, Entry> entries;
+    // find 가 훑는 복사본, entries 가 바뀔 때마다 lock 안에서 교체
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public SemanticAnswerCache(MeterRegistry meterRegistry,
+                               @Value("${chatbot.answer-cache.enabled:true}") boolean enabled,
+                               @Value("${chatbot.answer-cache.threshold:0.95}") double threshold,
+                               @Value("${chatbot.answer-cache.max-size:2000}") int maxSize,
+                               @Value("${chatbot.answer-cache.ttl-minutes:360}") long ttlMinutes) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMinutes * 60_000L;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > SemanticAnswerCache.this.maxSize;
+            }
+        };
+
+        this.hitCounter = Counter.builder("chatbot.answer.cache").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("chatbot.answer.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("chatbot.answer.cache.size", this, SemanticAnswerCache::size).register(meterRegistry);
+    }
+
+    /**
+     * @param queryVector
+     * : 질문 임베딩 (정규화 전이어도 됨)
+     * @return
+     * : threshold 이상으로 가장 유사한 캐시 답변, 없으면 null
+     */
+    public String find(float[] queryVector) {
+        if (!enabled) return null;
+
+        float[] query = VectorMath.normalize(queryVector);
+        long now = System.currentTimeMillis();
+        Snapshot current = snapshot;
+        String bestKey = null;
+        Entry best = null;
+        double bestSimilarity = threshold;
+
+        // 만료된 항목은 건너뛰기만 하고 제거는 put 에서
+        for (int i = 0; i < current.entries.length; i++) {
+            Entry entry = current.entries[i];
+            if (entry.expireAt <= now || entry.embedding.length != query.length) continue;
+
+            double similarity = VectorMath.dot(query, entry.embedding);
+            if (similarity >= bestSimilarity) {
+                bestSimilarity = similarity;
+                bestKey = current.keys[i];
+                best = entry;
+            }
+        }
+
+        if (best == null) {
+            missCounter.increment();
+            return null;
+        }
+        touch(bestKey);
+        hitCounter.increment();
+        return best.answer;
+    }
+
+    public void put(String normalizedQuestion, float[] queryVector, String answer) {
+        if (!enabled) return;
+
+        Entry entry = new Entry(VectorMath.normalize(queryVector), answer, System.currentTimeMillis() + ttlMillis);
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf((cached) -> cached.expireAt <= now);
+            // maxSize 를 넘으면 removeEldestEntry 가 가장 오래 쓰이지 않은 항목 제거
+            entries.put(normalizedQuestion, entry);
+            snapshot = Snapshot.of(entries);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 적중한 항목을 LRU 순서상 최근으로 (스냅샷은 그대로, 순서는 제거 대상 선정에만 쓰임)
+     */
+    private void touch(String key) {
+        lock.lock();
+        try {
+            entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onKnowledgeChanged(ChatKnowledgeChangedEvent event) {
+        invalidateAll();
+        log.info("Semantic Answer Cache Invalidated : {}", event.getSource());
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            snapshot = Snapshot.EMPTY;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return snapshot.keys.length;
+    }
+
+    private static final class Entry {
+        private final float[] embedding;
+        private final String answer;
+        private final long expireAt;
+
+        private Entry(float[] embedding, String answer, long expireAt) {
+            this.embedding = embedding;
+            this.answer = answer;
+            this.expireAt = expireAt;
+        }
+    }
+
+    private record Snapshot(String[] keys, Entry[] entries) {
+        private static final Snapshot EMPTY = new Snapshot(new String[0], new Entry[0]);
+
+        private static Snapshot of(LinkedHashMap<String, Entry> entries) {
+            String[] keys = new String[entries.size()];
+            Entry[] values = new Entry[entries.size()];
+            int i = 0;
+            for (Map.Entry<String, Entry> item : entries.entrySet()) {
+                keys[i] = item.getKey();
+                values[i] = item.getValue();
+                i++;
+            }
+            return new Snapshot(keys, values);
+        }
+    }
+}
@@ -6,8 +6,12 @@ import com.ygss.backend.chatbot.service.ChatBotServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @RestController
@@ -17,13 +21,18 @@ public class ChatBotController {
     private final ChatBotServiceImpl chatBotService;
 
     @PostMapping({"/send/", "/send/{sid}"})
-    public ResponseEntity<?> sendToChatBot(@RequestBody SendChatRequestDto request, @PathVariable(required = false) String sid) {
-        try {
-            return ResponseEntity.ok(chatBotService.requestAnswer(request, sid));
-        } catch (Exception e) {
-            log.error("Send To ChatBot Failed : {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(false);
-        }
+    public Mono<ResponseEntity<?>> sendToChatBot(@RequestBody SendChatRequestDto request, @PathVariable(required = false) String sid) {
+        return chatBotService.requestAnswerMono(request, sid)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume((e) -> {
+                    log.error("Send To ChatBot Failed : {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(false));
+                });
+    }
+
+    @PostMapping(value = {"/stream/", "/stream/{sid}"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamToChatBot(@RequestBody SendChatRequestDto request, @PathVariable(required = false) String sid) {
+        return chatBotService.streamAnswer(request, sid);
     }
 
     @GetMapping({"/send/{term}/", "/send/{term}/{sid}"})
@@ -8,8 +8,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
@@ -26,4 +29,33 @@ public class RedisController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(false);
         }
     }
+
+    /**
+     * 기존 float32 임베딩 key 를 int8(q8) 포맷으로 변환
+     */
+    @PostMapping("/migrate/q8")
+    public ResponseEntity<?> migrateToQuantized(@RequestParam(required = false) Boolean dropFullPrecision) {
+        try {
+            return ResponseEntity.ok(redisService.migrateToQuantized(dropFullPrecision));
+        } catch (Exception e) {
+            log.error("Migrate Redis Vector Failed : {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(false);
+        }
+    }
+
+    /**
+     * HNSW 근사 검색의 recall / 지연을 정확 검색과 비교
+     */
+    @GetMapping("/ann/report")
+    public ResponseEntity<?> reportAnn(
+            @RequestParam(defaultValue = "100") Integer samples,
+            @RequestParam(defaultValue = "10") Integer k,
+            @RequestParam(defaultValue = "16,32,64,128,256") List<Integer> efSearch) {
+        try {
+            return ResponseEntity.ok(redisService.evaluateAnn(samples, k, efSearch));
+        } catch (Exception e) {
+            log.error("Report ANN Failed : {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(false);
+        }
+    }
 }
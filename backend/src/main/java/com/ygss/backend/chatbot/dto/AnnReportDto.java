@@ -0,0 +1,28 @@
+package com.ygss.backend.chatbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class AnnReportDto {
+    private String activeMode;          // 현재 사용 중인 검색 방식 (exact / hnsw)
+    private Integer size;               // 인덱스 벡터 수
+    private Integer m;
+    private Integer efConstruction;
+    private Long buildMillis;           // HNSW 그래프 생성 시간
+    private Integer samples;            // 측정에 사용한 질의 수
+    private Integer k;
+    private Double exactAvgMicros;      // 정확 검색 평균 지연
+    private List<EfSearchResult> results;
+
+    @Data
+    @Builder
+    public static class EfSearchResult {
+        private Integer efSearch;
+        private Double recall;          // 정확 검색 Top K 대비 재현율
+        private Double avgMicros;       // ANN 검색 평균 지연
+    }
+}
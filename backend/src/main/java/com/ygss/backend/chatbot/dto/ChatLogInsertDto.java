@@ -0,0 +1,16 @@
+package com.ygss.backend.chatbot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ChatLogInsertDto {
+    private String sid;
+    private String question;
+    private String answer;
+    // 큐에 들어간 시각 (일괄 INSERT 시점이 아닌 실제 대화 시각으로 기록)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,13 @@
+package com.ygss.backend.chatbot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CompareRequestDto {
+    private String question;
+    private List<AnswerDto> candidateList;
+}
@@ -0,0 +1,16 @@
+package com.ygss.backend.chatbot.event;
+
+import lombok.Getter;
+
+/**
+ * chat_dummy / term_dictionary 내용이 바뀌었을 때 발행
+ * 답변 캐시 등 챗봇 지식에 의존하는 메모리 상태를 무효화하는 데 사용
+ */
+@Getter
+public class ChatKnowledgeChangedEvent {
+    private final String source;
+
+    public ChatKnowledgeChangedEvent(String source) {
+        this.source = source;
+    }
+}
@@ -1,21 +1,26 @@
 package com.ygss.backend.chatbot.repository;
 
-import com.ygss.backend.chatbot.dto.AnswerDto;
 import com.ygss.backend.chatbot.dto.ChatDummyResponseDto;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Mapper
 public interface ChatDummyRepository {
     @Select("SELECT id, term_id, question, answer FROM chat_dummy;")
     List<ChatDummyResponseDto> selectAllChatDummy();
 
-    @Select("""
-            SELECT term_id, answer FROM chat_dummy
-            WHERE id = #{id};
-            """)
-    Optional<AnswerDto> selectAnswerById(Long id);
+    @Select({
+            "<script>",
+            "SELECT id, term_id, question, answer FROM chat_dummy",
+            "WHERE id IN",
+            "<foreach collection='ids' item='id' open='(' close=')' separator=','>",
+            "    #{id}",
+            "</foreach>",
+            "</script>"
+    })
+    List<ChatDummyResponseDto> selectChatDummyByIds(@Param("ids") Collection<Long> ids);
 }
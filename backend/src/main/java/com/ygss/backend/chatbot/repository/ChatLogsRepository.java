@@ -1,30 +1,32 @@
 package com.ygss.backend.chatbot.repository;
 
 import com.ygss.backend.chatbot.dto.ChatLogDto;
+import com.ygss.backend.chatbot.dto.ChatLogInsertDto;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
 
 @Mapper
 public interface ChatLogsRepository {
+    // idx_chat_logs_sid_created_at 범위 조회 (역순으로 limit 개만 읽음)
     @Select("""
             SELECT cl.question, cl.answer FROM chat_logs cl
-            WHERE cl.sid LIKE #{sid}
+            WHERE cl.sid = #{sid}
             ORDER BY cl.created_at DESC
-            LIMIT 10;
+            LIMIT #{limit};
             """)
-    List<ChatLogDto> selectLatestQnABySid(String sid);
+    List<ChatLogDto> selectLatestQnABySid(@Param("sid") String sid, @Param("limit") int limit);
 
-    @Insert("""
-            INSERT INTO chat_logs(`sid`, `question`, `answer`) VALUES
-            (#{sid}, #{question}, #{answer});
-            """)
-    Integer insertChatLog(String sid, String question, String answer);
-
-    @Select("""
-            SELECT COUNT(*) FROM chat_logs WHERE sid LIKE #{sid};
-            """)
-    Integer selectCntBySid(String sid);
+    @Insert({
+            "<script>",
+            "INSERT INTO chat_logs(`sid`, `question`, `answer`, `created_at`) VALUES",
+            "<foreach collection='chatLogs' item='chatLog' separator=','>",
+            "    (#{chatLog.sid}, #{chatLog.question}, #{chatLog.answer}, #{chatLog.createdAt})",
+            "</foreach>",
+            "</script>"
+    })
+    Integer insertChatLogs(@Param("chatLogs") List<ChatLogInsertDto> chatLogs);
 }
@@ -2,18 +2,25 @@ package com.ygss.backend.chatbot.repository;
 
 import com.ygss.backend.chatbot.dto.TermDictionaryResponseDto;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Mapper
 public interface TermDictionaryRepository {
     @Select("SELECT id, term, `desc` FROM term_dictionary")
     List<TermDictionaryResponseDto> selectAllTerm();
-    @Select("""
-            SELECT id, term, `desc` FROM term_dictionary
-            WHERE id = #{id};
-            """)
-    Optional<TermDictionaryResponseDto> selectTermById(Long id);
+
+    @Select({
+            "<script>",
+            "SELECT id, term, `desc` FROM term_dictionary",
+            "WHERE id IN",
+            "<foreach collection='ids' item='id' open='(' close=')' separator=','>",
+            "    #{id}",
+            "</foreach>",
+            "</script>"
+    })
+    List<TermDictionaryResponseDto> selectTermsByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,135 @@
+package com.ygss.backend.chatbot.rerank;
+
+import com.ygss.backend.chatbot.dto.AnswerDto;
+import com.ygss.backend.chatbot.dto.CompareRequestDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 동시에 들어온 rerank 요청을 짧은 구간(window) 동안 모아 /server/compare/batch 한 번으로 보낸다.
+ * - 첫 요청이 들어온 뒤 window 가 지나거나 maxBatchSize 개가 모이면 전송
+ * - 응답은 요청 순서대로 각 호출자에게 돌려줌, 배치 호출이 실패하면 묶인 요청 모두 실패
+ * - 결과가 요청 수보다 적으면 결과가 없는 요청만 실패 (호출자가 Bi-Encoder 순서로 대체)
+ * - chatbot.rerank.batch.size : 배치 크기 / chatbot.rerank.batch.wait : 요청이 배치로 나가기까지 대기한 시간
+ */
+@Slf4j
+public class RerankBatcher {
+    private final Function<List<CompareRequestDto>, Mono<List<List<AnswerDto>>>> sender;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Scheduler scheduler;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Pending> buffer = new ArrayList<>();
+    // 예약된 window 플러시가 자기 배치에만 적용되도록 구분
+    private long generation;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer waitTimer;
+
+    public RerankBatcher(Function<List<CompareRequestDto>, Mono<List<List<AnswerDto>>>> sender,
+                         long windowMillis,
+                         int maxBatchSize,
+                         MeterRegistry meterRegistry) {
+        this.sender = sender;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, windowMillis));
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.scheduler = Schedulers.parallel();
+
+        this.batchSizeSummary = DistributionSummary.builder("chatbot.rerank.batch.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("chatbot.rerank.batch.wait")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Mono<List<AnswerDto>> submit(String question, List<AnswerDto> candidateList) {
+        return Mono.create(sink -> enqueue(new Pending(new CompareRequestDto(question, candidateList), sink, System.nanoTime())));
+    }
+
+    private void enqueue(Pending pending) {
+        List<Pending> ready = null;
+        lock.lock();
+        try {
+            buffer.add(pending);
+            if (buffer.size() >= maxBatchSize) {
+                ready = takeBuffer();
+            } else if (buffer.size() == 1) {
+                long scheduled = generation;
+                scheduler.schedule(() -> flushWindow(scheduled), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (ready != null) dispatch(ready);
+    }
+
+    private void flushWindow(long scheduled) {
+        List<Pending> ready;
+        lock.lock();
+        try {
+            // 이미 maxBatchSize 로 나간 배치면 무시
+            if (scheduled != generation || buffer.isEmpty()) return;
+            ready = takeBuffer();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(ready);
+    }
+
+    private List<Pending> takeBuffer() {
+        List<Pending> ready = buffer;
+        buffer = new ArrayList<>();
+        generation++;
+        return ready;
+    }
+
+    private void dispatch(List<Pending> batch) {
+        long now = System.nanoTime();
+        batchSizeSummary.record(batch.size());
+        List<CompareRequestDto> requests = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            waitTimer.record(now - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+            requests.add(pending.request());
+        }
+
+        sender.apply(requests)
+                // 결과 없이 끝나면 호출자가 기다리기만 하지 않도록 실패로 처리
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Rerank Batch Result Missing : 0/" + batch.size())))
+                .subscribe(
+                        results -> {
+                            if (results.size() < batch.size()) {
+                                log.warn("Rerank Batch Result Missing : {}/{}", results.size(), batch.size());
+                            }
+                            for (int i = 0; i < batch.size(); i++) {
+                                if (i < results.size()) {
+                                    batch.get(i).sink().success(results.get(i));
+                                } else {
+                                    batch.get(i).sink().error(new IllegalStateException(
+                                            "Rerank Batch Result Missing : " + i + "/" + results.size()));
+                                }
+                            }
+                        },
+                        e -> {
+                            log.error("Rerank Batch Failed : {} requests, {}", batch.size(), e.getMessage());
+                            batch.forEach(pending -> pending.sink().error(e));
+                        }
+                );
+    }
+
+    private record Pending(CompareRequestDto request, MonoSink<List<AnswerDto>> sink, long enqueuedAt) {
+    }
+}
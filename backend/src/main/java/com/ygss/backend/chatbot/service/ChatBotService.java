@@ -1,11 +1,16 @@
 package com.ygss.backend.chatbot.service;
 
 import com.ygss.backend.chatbot.dto.*;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
 public interface ChatBotService {
     ChatBotResponseDto requestAnswer(SendChatRequestDto request, String sid);
+    Mono<ChatBotResponseDto> requestAnswerMono(SendChatRequestDto request, String sid);
+    Flux<ServerSentEvent<String>> streamAnswer(SendChatRequestDto request, String sid);
     List<AnswerDto> getAccurateList(String question, List<AnswerDto> candidateList);
     List<AnswerDto> getCandidateAnswerList(List<SearchResultDto> candidateList);
     List<ChatLogDto> getChatLogsBySid(String sid);
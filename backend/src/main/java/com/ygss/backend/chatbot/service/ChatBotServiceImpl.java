@@ -1,62 +1,260 @@
 package com.ygss.backend.chatbot.service;
 
+import com.ygss.backend.chatbot.cache.ChatKnowledgeSnapshot;
+import com.ygss.backend.chatbot.cache.QueryEmbeddingCache;
+import com.ygss.backend.chatbot.cache.SemanticAnswerCache;
 import com.ygss.backend.chatbot.dto.*;
-import com.ygss.backend.chatbot.repository.ChatDummyRepository;
-import com.ygss.backend.chatbot.repository.ChatLogsRepository;
+import com.ygss.backend.chatbot.session.ChatHistory;
+import com.ygss.backend.chatbot.session.ChatLogWriter;
+import com.ygss.backend.chatbot.session.ChatSessionStore;
+import com.ygss.backend.chatbot.term.TermAutomaton;
 import com.ygss.backend.chatbot.term.TermDic;
+import com.ygss.backend.chatbot.term.TermQuickAnswer;
 import com.ygss.backend.global.gms.GmsApiClient;
 import com.ygss.backend.global.gms.dto.Gpt5MiniRequestDto;
 import com.ygss.backend.global.redis.VectorRepository;
+import com.ygss.backend.global.resilience.Deadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatBotServiceImpl implements ChatBotService{
     private final GmsApiClient gmsApiClient;
     private final VectorRepository vectorRepository;
     private final FastApiServiceImpl fastApiService;
-    private final ChatDummyRepository chatDummyRepository;
     private final TermDictionaryServiceImpl termDictionaryService;
-    private final ChatLogsRepository chatLogsRepository;
+    private final ChatSessionStore chatSessionStore;
+    private final ChatLogWriter chatLogWriter;
     private final TermDic termDic;
+    private final QueryEmbeddingCache queryEmbeddingCache;
+    private final SemanticAnswerCache semanticAnswerCache;
+    private final ChatKnowledgeSnapshot chatKnowledgeSnapshot;
+    private final MeterRegistry meterRegistry;
+    private final TermQuickAnswer termQuickAnswer;
+    // 답변 요청 전체 마감, 하위 GMS / FastAPI 호출은 남은 시간 안에서만 기다림
+    @Value("${chatbot.deadline-millis:30000}")
+    private long deadlineMillis;
+
+    private static final String UNKNOWN_ANSWER = "잘 모르겠어요. 조금 더 자세히 질문해주세요.".replaceAll("[^가-힣a-zA-Z0-9]", "");
 
     @Override
     public ChatBotResponseDto requestAnswer(SendChatRequestDto request, String sid) {
         try {
-            if(sid == null || sid.isEmpty()) sid = generateSid();
-//            String jsonResult = gmsApiClient.getEmbedding(request.getMessage().replace(" ", ""));
-            String jsonResult = gmsApiClient.getEmbedding(request.getMessage().replaceAll("[^가-힣a-zA-Z0-9]", ""));
-            // Bi-Encoder
-            List<AnswerDto> candidateList = getCandidateAnswerList(vectorRepository.searchAllPrefixes(gmsApiClient.getEmbeddingArr(jsonResult), 10));
-            // Cross-Encoder
-            List<AnswerDto> accurateList = getAccurateList(request.getMessage(), candidateList);
-//            String answer = gmsApiClient.getGptAnswerText(gmsApiClient.getGptAnswer(new Gpt5MiniRequestDto(
-//                    request.getMessage(),
-//                    termDictionaryService.makeTermMap(accurateList),
-//                    accurateList.stream().map(AnswerDto::getAnswer).toList(),
-//                    getChatLogsBySid(sid)
-//            )));
-            String answer = gmsApiClient.getGeminiAnswerText(gmsApiClient.getGeminiAnswer(new Gpt5MiniRequestDto(
-                    request.getMessage(),
-                    termDictionaryService.makeTermMap(accurateList),
-                    accurateList.stream().map(AnswerDto::getAnswer).toList(),
-                    getChatLogsBySid(sid)
-            )));
-            if(!answer.replaceAll("[^가-힣a-zA-Z0-9]", "").equals("잘 모르겠어요. 조금 더 자세히 질문해주세요.".replaceAll("[^가-힣a-zA-Z0-9]", ""))) chatLogsRepository.insertChatLog(sid, request.getMessage(), answer);
-            return ChatBotResponseDto.builder()
-                    .sid(sid)
-                    .answer(answer)
-                    .build();
+            return requestAnswerMono(request, sid).block();
         } catch (Exception e) {
             throw new RuntimeException("Message Embedding Failed : "+e.getMessage());
         }
     }
 
+    /**
+     * 임베딩 -> 벡터 검색 -> rerank -> LLM 을 Reactor 연산자로 연결한 논블로킹 버전
+     * 원격 호출(GMS / FastAPI)은 Reactor Netty 풀에서 처리되고 요청 스레드를 점유하지 않는다.
+     * DB / Redis 호출만 boundedElastic 에서 실행
+     */
+    @Override
+    public Mono<ChatBotResponseDto> requestAnswerMono(SendChatRequestDto request, String sid) {
+        return timed("total", prepareContext(request, sid)
+                .flatMap((context) -> {
+//                    Mono<String> answer = Mono.fromCallable(() -> gmsApiClient.getGptAnswerText(gmsApiClient.getGptAnswer(context.prompt())));
+                    Mono<String> answer = context.localAnswer() != null
+                            ? Mono.just(context.localAnswer())
+                            : timed("llm", gmsApiClient.getGeminiAnswerMono(context.prompt()));
+                    return answer.flatMap((text) -> timed("save", blocking(() -> {
+                        saveAnswer(request, context, text);
+                        return ChatBotResponseDto.builder()
+                                .sid(context.sid())
+                                .answer(text)
+                                .build();
+                    })));
+                }))
+                .contextWrite(Deadline.within(Duration.ofMillis(deadlineMillis)));
+    }
+
+    /**
+     * 답변을 LLM 토큰 단위로 흘려보내는 SSE 버전
+     * - sid : 첫 이벤트, 세션 id
+     * - token : 답변 조각 (순서대로 이어 붙이면 전체 답변)
+     * - done : 스트림 종료, 이 시점에 chat_logs 저장
+     * - error : 처리 실패
+     */
+    @Override
+    public Flux<ServerSentEvent<String>> streamAnswer(SendChatRequestDto request, String sid) {
+        return prepareContext(request, sid)
+                .flatMapMany((context) -> {
+                    Flux<String> tokens = context.localAnswer() != null
+                            ? Flux.just(context.localAnswer())
+                            : timed("llm_stream", gmsApiClient.streamGeminiAnswer(context.prompt()));
+                    StringBuilder answer = new StringBuilder();
+                    Flux<ServerSentEvent<String>> tokenEvents = tokens
+                            .doOnNext(answer::append)
+                            .map((token) -> ServerSentEvent.builder(token).event("token").build());
+                    Mono<ServerSentEvent<String>> doneEvent = blocking(() -> {
+                        saveAnswer(request, context, answer.toString());
+                        return ServerSentEvent.builder("").event("done").build();
+                    });
+                    return Flux.concat(
+                            Mono.just(ServerSentEvent.builder(context.sid()).event("sid").build()),
+                            tokenEvents,
+                            doneEvent
+                    );
+                })
+                .onErrorResume((e) -> {
+                    log.error("Stream To ChatBot Failed : {}", e.getMessage());
+                    return Mono.just(ServerSentEvent.builder("처리 중 문제가 발생했어요. 다시 시도해주세요.").event("error").build());
+                })
+                .contextWrite(Deadline.within(Duration.ofMillis(deadlineMillis)));
+    }
+
+    /**
+     * sid 발급, 질문 임베딩, 답변 캐시 조회, 후보 검색 / rerank 까지 LLM 호출 전 단계
+     * 서로 의존하지 않는 단계는 동시에 실행한다.
+     * - 세션 이력 조회 || 질문 임베딩
+     * - 벡터 검색 후 rerank || 후보 전체의 용어 정의 조회 (rerank 결과는 후보의 부분집합)
+     * 용어 뜻만 묻는 짧은 질문은 세션 조회만 하고 바로 답한다.
+     */
+    private Mono<ChatContext> prepareContext(SendChatRequestDto request, String sid) {
+        boolean newSession = sid == null || sid.isEmpty();
+        Mono<ChatSession> session = timed("session", blocking(() -> newSession
+                ? new ChatSession(generateSid(), ChatHistory.of(List.of()))
+                : new ChatSession(sid, chatSessionStore.load(sid))));
+
+        // 질문에 등장한 용어 (메모리 오토마톤, 원격 호출 없음)
+        List<TermAutomaton.TermMatch> termMatches = chatKnowledgeSnapshot.matchTerms(request.getMessage());
+        String quickAnswer = termQuickAnswer.answer(request.getMessage(), termMatches);
+        if(quickAnswer != null) {
+            return session.map((chatSession) -> new ChatContext(chatSession.sid(), null, chatSession.history(), quickAnswer, null));
+        }
+
+        Mono<float[]> embedding = timed("embedding", getQueryEmbedding(request.getMessage()));
+
+        return Mono.zip(session, embedding)
+                .flatMap((sessionAndEmbedding) -> {
+                    ChatSession chatSession = sessionAndEmbedding.getT1();
+                    float[] queryVector = sessionAndEmbedding.getT2();
+                    ChatHistory history = chatSession.history();
+                    List<ChatLogDto> chatLogs = history.chatLogs();
+                    // 이전 대화가 없으면 의미가 같은 질문의 답변을 재사용 (rerank / LLM 생략)
+                    // 이력을 읽지 못한 경우는 후속 질문일 수 있으므로 사용하지 않음
+                    if(history.isEmpty()) {
+                        String cachedAnswer = semanticAnswerCache.find(queryVector);
+                        if(cachedAnswer != null) return Mono.just(new ChatContext(chatSession.sid(), queryVector, history, cachedAnswer, null));
+                    }
+
+                    // Bi-Encoder
+                    return timed("vector_search", blocking(() -> getCandidateAnswerList(vectorRepository.searchAllPrefixes(queryVector, 10))))
+                            .flatMap((candidateList) -> Mono.zip(
+                                    // Cross-Encoder
+                                    timed("rerank", fastApiService.getAccurateListMono(request.getMessage(), candidateList)),
+                                    timed("terms", blocking(() -> termDictionaryService.selectTermMap(
+                                            candidateList.stream().map(AnswerDto::getTermId).toList())))
+                            ))
+                            .map((rerankAndTerms) -> {
+                                List<AnswerDto> accurateList = rerankAndTerms.getT1();
+                                Map<Long, TermDictionaryResponseDto> termMap = termDictionaryService.makeTermMap(accurateList, rerankAndTerms.getT2());
+                                // 질문에 직접 등장한 용어 정의도 함께 전달
+                                termMatches.forEach((match) -> termMap.putIfAbsent(match.term().getId(), match.term()));
+                                return new ChatContext(chatSession.sid(), queryVector, history, null, new Gpt5MiniRequestDto(
+                                        request.getMessage(),
+                                        termMap,
+                                        accurateList.stream().map(AnswerDto::getAnswer).toList(),
+                                        chatLogs
+                                ));
+                            });
+                });
+    }
+
+    /**
+     * "잘 모르겠어요" 답변은 기록하지 않고, 이전 대화가 없는 질문의 새 답변만 답변 캐시에 저장
+     */
+    private void saveAnswer(SendChatRequestDto request, ChatContext context, String answer) {
+        if(answer.isBlank() || answer.replaceAll("[^가-힣a-zA-Z0-9]", "").equals(UNKNOWN_ANSWER)) return;
+        chatSessionStore.append(context.sid(), request.getMessage(), answer);
+        chatLogWriter.write(context.sid(), request.getMessage(), answer);
+        if(context.history().isEmpty() && context.localAnswer() == null) {
+            semanticAnswerCache.put(request.getMessage().replaceAll("[^가-힣a-zA-Z0-9]", ""), context.queryVector(), answer);
+        }
+    }
+
+    private record ChatSession(String sid, ChatHistory history) {
+    }
+
+    /**
+     * @param localAnswer
+     * : 답변 캐시 / 용어 정의처럼 LLM 없이 준비된 답변 (있으면 prompt 는 null)
+     */
+    private record ChatContext(String sid, float[] queryVector, ChatHistory history, String localAnswer, Gpt5MiniRequestDto prompt) {
+    }
+
+    /**
+     * 정규화한 질문으로 캐시를 먼저 조회하고, 없을 때만 임베딩 API 호출
+     */
+    private Mono<float[]> getQueryEmbedding(String message) {
+        String normalized = message.replaceAll("[^가-힣a-zA-Z0-9]", "");
+//        String jsonResult = gmsApiClient.getEmbedding(request.getMessage().replace(" ", ""));
+        return Mono.fromCallable(() -> queryEmbeddingCache.get(normalized))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(Mono.defer(() -> gmsApiClient.getEmbeddingMono(normalized)
+                        .flatMap((embedding) -> blocking(() -> {
+                            queryEmbeddingCache.put(normalized, embedding);
+                            return embedding;
+                        }))));
+    }
+
+    /**
+     * 단계별 소요 시간 (chatbot.stage{stage, outcome}), 요청 단위 임계 경로 확인용
+     */
+    private <T> Mono<T> timed(String stage, Mono<T> source) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doFinally((signal) -> sample.stop(stageTimer(stage, signal)));
+        });
+    }
+
+    private <T> Flux<T> timed(String stage, Flux<T> source) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doFinally((signal) -> sample.stop(stageTimer(stage, signal)));
+        });
+    }
+
+    private Timer stageTimer(String stage, SignalType signal) {
+        String outcome = switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancel";
+            default -> "success";
+        };
+        return Timer.builder("chatbot.stage")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * JDBC / Jedis 처럼 스레드를 막는 호출은 Netty 이벤트 루프가 아닌 boundedElastic 에서 실행
+     */
+    private <T> Mono<T> blocking(Callable<T> task) {
+        return Mono.fromCallable(task).subscribeOn(Schedulers.boundedElastic());
+    }
+
     @Override
     public List<AnswerDto> getAccurateList(String question, List<AnswerDto> candidateList) {
         return fastApiService.getAccurateList(question, candidateList);
@@ -65,24 +263,32 @@ public class ChatBotServiceImpl implements ChatBotService{
     @Override
     public List<AnswerDto> getCandidateAnswerList(List<SearchResultDto> candidateList) {
         if(candidateList.isEmpty()) return List.of();
+        Map<Long, ChatDummyResponseDto> chatDummies = chatKnowledgeSnapshot.findChatDummies(
+                candidateList.stream().map(SearchResultDto::getId).toList());
+        // 유사도 순서 유지
         List<AnswerDto> candidateAnswerList = new ArrayList<>();
         candidateList.forEach((candidate) -> {
-            candidateAnswerList.add(chatDummyRepository.selectAnswerById(candidate.getId())
-                    .orElseThrow(() -> new IllegalArgumentException("Not Found Chat Dummy")));
+            ChatDummyResponseDto chatDummy = chatDummies.get(candidate.getId());
+            if(chatDummy == null) throw new IllegalArgumentException("Not Found Chat Dummy");
+            AnswerDto answer = new AnswerDto();
+            answer.setTermId(chatDummy.getTermId());
+            answer.setAnswer(chatDummy.getAnswer());
+            candidateAnswerList.add(answer);
         });
         return candidateAnswerList;
     }
 
     @Override
     public List<ChatLogDto> getChatLogsBySid(String sid) {
-        return chatLogsRepository.selectLatestQnABySid(sid);
+        return chatSessionStore.latest(sid);
     }
 
+    /**
+     * 랜덤 UUID(122bit) 는 충돌 확률이 무시할 수준이라 chat_logs 중복 확인 없이 발급
+     */
     @Override
     public String generateSid() {
-        String sid = UUID.randomUUID().toString();
-        while(chatLogsRepository.selectCntBySid(sid) > 0) sid = UUID.randomUUID().toString();
-        return sid;
+        return UUID.randomUUID().toString();
     }
 
     @Override
@@ -90,7 +296,8 @@ public class ChatBotServiceImpl implements ChatBotService{
         if(sid == null) sid = generateSid();
         String answer = termDic.getTermMap().get(term);
 
-        chatLogsRepository.insertChatLog(sid, term, answer);
+        chatSessionStore.append(sid, term, answer);
+        chatLogWriter.write(sid, term, answer);
 
         return ChatBotResponseDto.builder()
                 .sid(sid)
@@ -1,20 +1,33 @@
 package com.ygss.backend.chatbot.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ygss.backend.chatbot.dto.AnswerDto;
-import com.ygss.backend.recommend.dto.AllocationDto;
+import com.ygss.backend.chatbot.dto.CompareRequestDto;
+import com.ygss.backend.chatbot.rerank.RerankBatcher;
+import com.ygss.backend.global.resilience.Deadline;
+import com.ygss.backend.global.resilience.ExternalCallGuard;
+import com.ygss.backend.recommend.component.PortfolioOptimizer;
 import com.ygss.backend.recommend.dto.RecommendPortfolioRequest;
 import com.ygss.backend.recommend.dto.RecommendPortfolioResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
@@ -23,90 +36,175 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 @Service
 public class FastApiServiceImpl implements FastApiService{
-    @Value("${fastapi.base.url}")
-    private String FAST_API_URL;
+    private final String FAST_API_URL;
+
+    // /server/compare 가 돌려주는 최대 개수와 같게
+    private static final int RERANK_FALLBACK_SIZE = 3;
 
     private final WebClient client;
-    public FastApiServiceImpl() {
-        HttpClient httpClient = HttpClient.create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 30000)
-                .responseTimeout(Duration.ofMinutes(5))
+    private final ObjectMapper objectMapper;
+    private final boolean rerankBatchEnabled;
+    // /server/compare/batch 가 404 면 이후에는 단건 /server/compare 로만 보냄
+    private volatile boolean rerankBatchUnsupported;
+    private final RerankBatcher rerankBatcher;
+    private final ExternalCallGuard externalCallGuard;
+    private final PortfolioOptimizer portfolioOptimizer;
+
+    @Autowired
+    public FastApiServiceImpl(ConnectionProvider externalApiConnectionProvider,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              ExternalCallGuard externalCallGuard,
+                              PortfolioOptimizer portfolioOptimizer,
+                              @Value("${fastapi.base.url}") String fastApiUrl,
+                              @Value("${fastapi.http.response-timeout-seconds:30}") int responseTimeoutSeconds,
+                              @Value("${chatbot.rerank.batch.enabled:false}") boolean rerankBatchEnabled,
+                              @Value("${chatbot.rerank.batch.window-millis:10}") long rerankBatchWindowMillis,
+                              @Value("${chatbot.rerank.batch.max-size:16}") int rerankBatchMaxSize) {
+        this(createClient(externalApiConnectionProvider, responseTimeoutSeconds), objectMapper, meterRegistry,
+                externalCallGuard, portfolioOptimizer, fastApiUrl,
+                rerankBatchEnabled, rerankBatchWindowMillis, rerankBatchMaxSize);
+    }
+
+    /**
+     * 테스트에서 WebClient(ExchangeFunction) 를 직접 넣기 위한 생성자
+     */
+    FastApiServiceImpl(WebClient client,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       ExternalCallGuard externalCallGuard,
+                       PortfolioOptimizer portfolioOptimizer,
+                       String fastApiUrl,
+                       boolean rerankBatchEnabled,
+                       long rerankBatchWindowMillis,
+                       int rerankBatchMaxSize) {
+        this.client = client;
+        this.FAST_API_URL = fastApiUrl;
+        this.objectMapper = objectMapper;
+        this.externalCallGuard = externalCallGuard;
+        this.portfolioOptimizer = portfolioOptimizer;
+        this.rerankBatchEnabled = rerankBatchEnabled;
+        this.rerankBatcher = new RerankBatcher(this::compareBatch, rerankBatchWindowMillis, rerankBatchMaxSize, meterRegistry);
+    }
+
+    private static WebClient createClient(ConnectionProvider externalApiConnectionProvider, int responseTimeoutSeconds) {
+        HttpClient httpClient = HttpClient.create(externalApiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
+                .responseTimeout(Duration.ofSeconds(responseTimeoutSeconds))
                 .doOnConnected(conn ->
-                        conn.addHandlerLast(new ReadTimeoutHandler(300, TimeUnit.SECONDS))
-                                .addHandlerLast(new WriteTimeoutHandler(60, TimeUnit.SECONDS))); // 쓰기 타임아웃 추가
+                        conn.addHandlerLast(new ReadTimeoutHandler(responseTimeoutSeconds, TimeUnit.SECONDS))
+                                .addHandlerLast(new WriteTimeoutHandler(10, TimeUnit.SECONDS))); // 쓰기 타임아웃 추가
 
-        this.client = WebClient.builder()
+        return WebClient.builder()
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
 
     @Override
     public List<AnswerDto> getAccurateList(String question, List<AnswerDto> candidateList) {
+        return getAccurateListMono(question, candidateList).block();
+    }
+
+    /**
+     * rerank 가 느리거나 실패하면(브레이커 open, 벌크헤드 포화 포함) Bi-Encoder 유사도 순서 상위 RERANK_FALLBACK_SIZE 개로 대체
+     */
+    @Override
+    public Mono<List<AnswerDto>> getAccurateListMono(String question, List<AnswerDto> candidateList) {
+        if (candidateList == null || candidateList.isEmpty()) return Mono.just(List.of());
+        Mono<List<AnswerDto>> rerank = rerankBatchEnabled && !rerankBatchUnsupported
+                ? rerankBatcher.submit(question, candidateList)
+                : compare(question, candidateList);
+        return externalCallGuard.mono(ExternalCallGuard.FASTAPI, rerank)
+                .onErrorResume((e) -> {
+                    log.warn("Rerank Failed, Bi-Encoder Order Used : {}", e.getMessage());
+                    return Mono.just(candidateList.subList(0, Math.min(candidateList.size(), RERANK_FALLBACK_SIZE)));
+                });
+    }
+
+    private Mono<List<AnswerDto>> compare(String question, List<AnswerDto> candidateList) {
         Map<String, Object> body = Map.of(
                 "question", question,
                 "candidateList", candidateList
         );
-        return convertToJson(client.post()
-                        .uri(FAST_API_URL+"/server/compare")
-                        .bodyValue(body)
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .block()
-                );
+        return client.post()
+                .uri(FAST_API_URL+"/server/compare")
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(this::convertToJson);
+    }
+
+    /**
+     * 여러 질문의 rerank 를 한 번에 요청
+     * 배치 엔드포인트가 없는 FastAPI(404)면 요청별 /server/compare 로 나눠 보냄
+     * @return
+     * : 요청 순서와 같은 순서의 질문별 결과
+     */
+    private Mono<List<List<AnswerDto>>> compareBatch(List<CompareRequestDto> requests) {
+        return client.post()
+                .uri(FAST_API_URL+"/server/compare/batch")
+                .bodyValue(Map.of("items", requests))
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(this::convertToBatchJson)
+                .onErrorResume(WebClientResponseException.NotFound.class, (e) -> {
+                    if (!rerankBatchUnsupported) {
+                        rerankBatchUnsupported = true;
+                        log.warn("Rerank Batch Endpoint Not Found, Single Compare Used");
+                    }
+                    return Flux.fromIterable(requests)
+                            .flatMapSequential((request) -> compare(request.getQuestion(), request.getCandidateList()))
+                            .collectList();
+                });
+    }
+
+    private List<List<AnswerDto>> convertToBatchJson(String jsonResult) {
+        try {
+            return objectMapper.readValue(
+                    objectMapper.readTree(jsonResult).get("results").traverse(objectMapper),
+                    new TypeReference<List<List<AnswerDto>>>() {}
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Override
     public List<AnswerDto> convertToJson(String jsonResult) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            AnswerDto[] arr = mapper.readValue(
-                    mapper.readTree(jsonResult).get("results").toString(),
+            AnswerDto[] arr = objectMapper.treeToValue(
+                    objectMapper.readTree(jsonResult).get("results"),
                     AnswerDto[].class
             );
             return List.of(arr);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Compare Result Parse Failed : {}", e.getMessage());
             return List.of();
         }
     }
     @Override
     public RecommendPortfolioResponse getRecommendPortfolio(RecommendPortfolioRequest request) {
-        try {
-            return client.post()
-                    .uri(FAST_API_URL + "/portfolio/analyze")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(RecommendPortfolioResponse.class)
-                    .block();
-        } catch(Exception e) {
-            log.error("Recommend Portfolio Failed : {}", e.getMessage());
-            return RecommendPortfolioResponse.builder()
-                    .allocations(List.of(
-                            AllocationDto.builder()
-                                    .assetCode(103L)
-                                    .allocationPercentage(31.1)
-                                    .expectedReturn(-0.36585926472562286)
-                                    .riskScore(-0.37613885716265677)
-                                    .build(),
-                            AllocationDto.builder()
-                                    .assetCode(101L)
-                                    .allocationPercentage(33.75)
-                                    .expectedReturn(-0.39700005171418296)
-                                    .riskScore(-0.33670027807346875)
-                                    .build(),
-                            AllocationDto.builder()
-                                    .assetCode(102L)
-                                    .allocationPercentage(35.15)
-                                    .expectedReturn(-0.41341633823007573)
-                                    .riskScore(-0.3190644130574681)
-                                    .build()
-                    ))
-                    .totalExpectedReturn(-1.1762756546698816)
-                    .totalRiskScore(-1.0319035482935937)
-                    .sharpeRatio(-3.6585926472562282)
-                    .riskGradeId(1)
-                    .analysisDate("2025-09-19T13:36:46.166218")
-                    .build();
-        }
+        return getRecommendPortfolio(request, null);
+    }
+
+    /**
+     * /portfolio/analyze 가 느리거나 실패하면(브레이커 open, 벌크헤드 포화 포함) 로컬 PortfolioOptimizer 결과로 대체
+     * @param deadline
+     * : 요청 전체 마감, null 이면 호출별 제한만 적용
+     */
+    @Override
+    public RecommendPortfolioResponse getRecommendPortfolio(RecommendPortfolioRequest request, Deadline deadline) {
+        Mono<RecommendPortfolioResponse> portfolio = externalCallGuard.mono(ExternalCallGuard.FASTAPI, client.post()
+                .uri(FAST_API_URL + "/portfolio/analyze")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(RecommendPortfolioResponse.class));
+        if (deadline != null) portfolio = portfolio.contextWrite(deadline.attach());
+        return portfolio
+                .onErrorResume((e) -> {
+                    log.warn("Recommend Portfolio Failed, Local Optimizer Used : {}", e.getMessage());
+                    return Mono.fromCallable(() -> portfolioOptimizer.optimize(request.getProductList()));
+                })
+                .block();
     }
 }
@@ -1,8 +1,12 @@
 package com.ygss.backend.chatbot.service;
 
+import com.ygss.backend.chatbot.dto.AnnReportDto;
+
 import java.util.List;
 import java.util.Map;
 
 public interface RedisService {
     Boolean updateRedisTermDIc();
+    Integer migrateToQuantized(Boolean dropFullPrecision);
+    AnnReportDto evaluateAnn(Integer samples, Integer k, List<Integer> efSearchList);
 }
@@ -2,39 +2,84 @@ package com.ygss.backend.chatbot.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ygss.backend.chatbot.dto.AnnReportDto;
 import com.ygss.backend.chatbot.dto.ChatDummyResponseDto;
 import com.ygss.backend.chatbot.dto.TermDictionaryResponseDto;
+import com.ygss.backend.chatbot.event.ChatKnowledgeChangedEvent;
 import com.ygss.backend.global.gms.GmsApiClient;
+import com.ygss.backend.global.redis.VectorEntry;
 import com.ygss.backend.global.redis.VectorRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RedisServiceImpl implements RedisService {
+    // /redis/ann/report 측정 범위 상한
+    private static final int MAX_ANN_SAMPLES = 1000;
+    private static final int MAX_ANN_K = 50;
+    private static final int MAX_ANN_EF_SEARCH = 512;
+    private static final int MAX_ANN_EF_SEARCH_COUNT = 8;
+
     private final TermDictionaryServiceImpl termDictionaryService;
     private final ChatDummyServiceImpl chatDummyService;
     private final VectorRepository redisService;
     private final GmsApiClient gmsApiClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReentrantLock annReportLock = new ReentrantLock();
 
     @Override
     public Boolean updateRedisTermDIc() {
         List<ChatDummyResponseDto> QnAList = chatDummyService.selectAllChatDummy();
 
-        QnAList.forEach(QnA -> {
-            try {
-//                String jsonResult = gmsApiClient.getEmbedding(QnA.getQuestion().replace(" ", ""));
-                String jsonResult = gmsApiClient.getEmbedding(QnA.getQuestion().replaceAll("[^가-힣a-zA-Z0-9]", ""));
-                redisService.saveVectorChunk("term", QnA.getTermId(), QnA.getId(), "Q", gmsApiClient.getEmbeddingArr(jsonResult));
-            } catch (IOException e) {
-                    throw new RuntimeException("Text Embedding Failed");
-            }
-        });
+        List<float[]> embeddings;
+        try {
+            // 질문들을 배열 input 으로 묶어 병렬 임베딩
+            embeddings = gmsApiClient.getEmbeddings(QnAList.stream()
+                    .map(QnA -> QnA.getQuestion().replaceAll("[^가-힣a-zA-Z0-9]", ""))
+                    .toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Text Embedding Failed");
+        }
+
+        List<VectorEntry> entries = new ArrayList<>(QnAList.size());
+        for (int i = 0; i < QnAList.size(); i++) {
+            ChatDummyResponseDto QnA = QnAList.get(i);
+            entries.add(new VectorEntry(QnA.getTermId(), QnA.getId(), "Q", embeddings.get(i)));
+        }
+        // 새 네임스페이스에 일괄 기록 후 alias 교체 (메모리 인덱스도 함께 갱신)
+        redisService.rebuildNamespace("term", entries);
+        // 답변 캐시 등 이전 지식 기반 상태 무효화
+        eventPublisher.publishEvent(new ChatKnowledgeChangedEvent("redis-reindex"));
         return true;
     }
+
+    @Override
+    public Integer migrateToQuantized(Boolean dropFullPrecision) {
+        return redisService.migrateToQuantized(dropFullPrecision);
+    }
+
+    @Override
+    public AnnReportDto evaluateAnn(Integer samples, Integer k, List<Integer> efSearchList) {
+        if(samples == null || samples <= 0 || samples > MAX_ANN_SAMPLES
+                || k == null || k <= 0 || k > MAX_ANN_K
+                || efSearchList == null || efSearchList.isEmpty() || efSearchList.size() > MAX_ANN_EF_SEARCH_COUNT
+                || efSearchList.stream().anyMatch(ef -> ef == null || ef < k || ef > MAX_ANN_EF_SEARCH))
+            throw new IllegalArgumentException("Bad Request");
+        // 그래프 생성 / 측정은 요청 스레드에서 돌므로 동시에 하나만
+        if (!annReportLock.tryLock()) throw new IllegalStateException("ANN Report Already Running");
+        try {
+            return redisService.evaluateAnn(samples, k, efSearchList);
+        } finally {
+            annReportLock.unlock();
+        }
+    }
 }
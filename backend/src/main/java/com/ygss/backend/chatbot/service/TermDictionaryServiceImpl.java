@@ -1,19 +1,24 @@
 package com.ygss.backend.chatbot.service;
 
+import com.ygss.backend.chatbot.cache.ChatKnowledgeSnapshot;
 import com.ygss.backend.chatbot.dto.AnswerDto;
 import com.ygss.backend.chatbot.dto.TermDictionaryResponseDto;
 import com.ygss.backend.chatbot.repository.TermDictionaryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class TermDictionaryServiceImpl implements TermDictionaryService{
     private final TermDictionaryRepository termDictionaryRepository;
+    private final ChatKnowledgeSnapshot chatKnowledgeSnapshot;
 
     @Override
     public List<TermDictionaryResponseDto> selectAllTerm() {
@@ -22,13 +27,35 @@ public class TermDictionaryServiceImpl implements TermDictionaryService{
 
     @Override
     public Map<Long, TermDictionaryResponseDto> makeTermMap(List<AnswerDto> accurateList) {
+        if(accurateList.isEmpty()) return new HashMap<>();
+        Set<Long> termIds = new LinkedHashSet<>();
+        accurateList.forEach((answer) -> termIds.add(answer.getTermId()));
+        Map<Long, TermDictionaryResponseDto> termMap = new HashMap<>(chatKnowledgeSnapshot.findTerms(termIds));
+        if(termMap.size() != termIds.size()) throw new IllegalArgumentException("Not Fount Term Desc");
+        return termMap;
+    }
+
+    /**
+     * 미리 조회해 둔 용어 정의에서 accurateList 에 필요한 것만 골라낸다
+     */
+    @Override
+    public Map<Long, TermDictionaryResponseDto> makeTermMap(List<AnswerDto> accurateList, Map<Long, TermDictionaryResponseDto> prefetchedTerms) {
         Map<Long, TermDictionaryResponseDto> termMap = new HashMap<>();
         accurateList.forEach((answer) -> {
-            if(!termMap.containsKey(answer.getTermId())) {
-                termMap.put(answer.getTermId(), termDictionaryRepository.selectTermById(answer.getTermId())
-                        .orElseThrow(() -> new IllegalArgumentException("Not Fount Term Desc")));
-            }
+            TermDictionaryResponseDto term = prefetchedTerms.get(answer.getTermId());
+            if(term == null) throw new IllegalArgumentException("Not Fount Term Desc");
+            termMap.put(answer.getTermId(), term);
         });
         return termMap;
     }
+
+    /**
+     * @return
+     * : termId -> 용어 정의 (존재하지 않는 id 는 빠짐)
+     */
+    @Override
+    public Map<Long, TermDictionaryResponseDto> selectTermMap(Collection<Long> termIds) {
+        if(termIds.isEmpty()) return Map.of();
+        return chatKnowledgeSnapshot.findTerms(new LinkedHashSet<>(termIds));
+    }
 }
@@ -0,0 +1,30 @@
+package com.ygss.backend.chatbot.session;
+
+import com.ygss.backend.chatbot.dto.ChatLogDto;
+
+import java.util.List;
+
+/**
+ * 세션 이력 조회 결과
+ * - available = false : Redis / chat_logs 모두 읽지 못함 (이력이 없는 것과 구분, 빈 이력으로 취급하면 안 됨)
+ * @param chatLogs
+ * : 최근 대화 (최신순), available = false 면 빈 목록
+ */
+public record ChatHistory(List<ChatLogDto> chatLogs, boolean available) {
+    private static final ChatHistory UNAVAILABLE = new ChatHistory(List.of(), false);
+
+    public static ChatHistory of(List<ChatLogDto> chatLogs) {
+        return new ChatHistory(chatLogs, true);
+    }
+
+    public static ChatHistory unavailable() {
+        return UNAVAILABLE;
+    }
+
+    /**
+     * 이전 대화가 없다고 확인된 경우만 true
+     */
+    public boolean isEmpty() {
+        return available && chatLogs.isEmpty();
+    }
+}
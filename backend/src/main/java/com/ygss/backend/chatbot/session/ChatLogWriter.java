@@ -0,0 +1,125 @@
+package com.ygss.backend.chatbot.session;
+
+import com.ygss.backend.chatbot.dto.ChatLogInsertDto;
+import com.ygss.backend.chatbot.repository.ChatLogsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * chat_logs write-behind 기록
+ * 답변 흐름에서는 큐에 넣기만 하고, 백그라운드 스레드가 여러 행을 모아 multi-row INSERT 한 번으로 기록한다.
+ * - batch-size 개가 모이거나 첫 행 이후 flush-interval 이 지나면 기록
+ * - 큐는 queue-capacity 로 제한, 가득 차면 해당 행은 버리고 chatbot.chat_log{result=dropped} 집계
+ *   (DB 장애가 대화 지연으로 번지지 않도록 호출 스레드에서 기록하지 않음)
+ * - 종료 시 큐에 남은 행을 모두 기록한 뒤 종료
+ */
+@Slf4j
+@Component
+public class ChatLogWriter {
+    private final ChatLogsRepository chatLogsRepository;
+    private final BlockingQueue<ChatLogInsertDto> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final ExecutorService executor;
+    private volatile boolean running = true;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    public ChatLogWriter(ChatLogsRepository chatLogsRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${chatbot.chat-log.queue-capacity:10000}") int queueCapacity,
+                         @Value("${chatbot.chat-log.batch-size:200}") int batchSize,
+                         @Value("${chatbot.chat-log.flush-interval-millis:500}") long flushIntervalMillis) {
+        this.chatLogsRepository = chatLogsRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(1L, flushIntervalMillis);
+
+        this.writtenCounter = Counter.builder("chatbot.chat_log").tag("result", "written").register(meterRegistry);
+        this.droppedCounter = Counter.builder("chatbot.chat_log").tag("result", "dropped").register(meterRegistry);
+        this.failedCounter = Counter.builder("chatbot.chat_log").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("chatbot.chat_log.queue", queue, BlockingQueue::size).register(meterRegistry);
+
+        this.executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("chat-log-writer-"));
+        this.executor.execute(this::run);
+    }
+
+    public void write(String sid, String question, String answer) {
+        if (!running || !queue.offer(new ChatLogInsertDto(sid, question, answer, LocalDateTime.now()))) {
+            droppedCounter.increment();
+            log.warn("Chat Log Dropped : sid {}", sid);
+        }
+    }
+
+    private void run() {
+        List<ChatLogInsertDto> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ChatLogInsertDto first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 첫 행 이후 flush-interval 동안 batch-size 까지 모음
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) break;
+                    ChatLogInsertDto next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 강제 종료 : 남은 행만 기록하고 끝냄
+                queue.drainTo(batch);
+                flush(batch);
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flush(batch);
+        }
+    }
+
+    private void flush(List<ChatLogInsertDto> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            chatLogsRepository.insertChatLogs(batch);
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("Insert Chat Logs Failed : {} rows, {}", batch.size(), e.getMessage());
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * 새 행은 더 받지 않고, 큐에 남은 행을 모두 기록한 뒤 종료
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+            log.warn("Chat Log Writer Terminated With {} Pending", queue.size());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ygss.backend.chatbot.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ygss.backend.chatbot.dto.ChatLogDto;
+import com.ygss.backend.chatbot.repository.ChatLogsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.JedisPooled;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 세션(sid)별 최근 대화 링 버퍼 (Redis list)
+ * - LPUSH + LTRIM 으로 최근 capacity 개만 유지, 최신 대화가 앞 (selectLatestQnABySid 와 같은 순서)
+ * - 대화가 이어질 때마다 TTL 갱신, 만료되면 세션 이력도 사라짐
+ * 프롬프트용 이력은 여기서 읽고, 링 버퍼가 비어 있을 때만 chat_logs 에서 한 번 채운다 (만료 / Redis 재시작 이후).
+ * Redis 를 읽지 못하면 chat_logs 에서 바로 읽고, 둘 다 실패하면 "이력 없음" 이 아닌 ChatHistory.unavailable() 을 돌려준다.
+ * chat_logs 기록은 ChatLogWriter 가 비동기로 처리
+ */
+@Slf4j
+@Component
+public class ChatSessionStore {
+    private static final String KEY_PREFIX = "chatbot:session:";
+
+    private final JedisPooled jedis;
+    private final ObjectMapper objectMapper;
+    private final ChatLogsRepository chatLogsRepository;
+    private final int capacity;
+    private final long ttlMillis;
+    private final boolean dbFallback;
+
+    public ChatSessionStore(JedisPooled jedis,
+                            ObjectMapper objectMapper,
+                            ChatLogsRepository chatLogsRepository,
+                            @Value("${chatbot.session.capacity:10}") int capacity,
+                            @Value("${chatbot.session.ttl-minutes:1440}") long ttlMinutes,
+                            @Value("${chatbot.session.db-fallback:true}") boolean dbFallback) {
+        this.jedis = jedis;
+        this.objectMapper = objectMapper;
+        this.chatLogsRepository = chatLogsRepository;
+        this.capacity = capacity;
+        this.ttlMillis = ttlMinutes * 60_000L;
+        this.dbFallback = dbFallback;
+    }
+
+    /**
+     * @return
+     * : 최근 대화 (최신순, 최대 capacity 개), 읽지 못하면 빈 목록
+     */
+    public List<ChatLogDto> latest(String sid) {
+        return load(sid).chatLogs();
+    }
+
+    /**
+     * Redis 를 읽지 못하면 chat_logs 에서 바로 읽고, 둘 다 실패하면 ChatHistory.unavailable()
+     */
+    public ChatHistory load(String sid) {
+        List<String> values;
+        try {
+            values = jedis.lrange(key(sid), 0, capacity - 1);
+        } catch (Exception e) {
+            log.warn("Load Chat Session Failed, Chat Logs Used : {}", e.getMessage());
+            return selectChatLogs(sid);
+        }
+        if (values.isEmpty()) return fallback(sid);
+
+        try {
+            List<ChatLogDto> chatLogs = new ArrayList<>(values.size());
+            for (String value : values) {
+                chatLogs.add(objectMapper.readValue(value, ChatLogDto.class));
+            }
+            return ChatHistory.of(chatLogs);
+        } catch (Exception e) {
+            log.warn("Parse Chat Session Failed, Chat Logs Used : {}", e.getMessage());
+            return selectChatLogs(sid);
+        }
+    }
+
+    public void append(String sid, String question, String answer) {
+        ChatLogDto chatLog = new ChatLogDto();
+        chatLog.setQuestion(question);
+        chatLog.setAnswer(answer);
+        try (AbstractPipeline pipeline = jedis.pipelined()) {
+            String key = key(sid);
+            pipeline.lpush(key, objectMapper.writeValueAsString(chatLog));
+            pipeline.ltrim(key, 0, capacity - 1);
+            pipeline.pexpire(key, ttlMillis);
+            pipeline.sync();
+        } catch (Exception e) {
+            // 이력은 프롬프트 보조 정보라 실패해도 답변 흐름은 계속
+            log.warn("Save Chat Session Failed : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 링 버퍼가 비어 있으면 chat_logs 의 (sid, created_at) 인덱스로 최근 capacity 개를 읽는다 (chatbot.session.db-fallback)
+     * 읽은 이력은 링 버퍼에 채워 넣어 이후에는 Redis 에서 읽음
+     */
+    private ChatHistory fallback(String sid) {
+        // fallback 을 끈 경우 빈 링 버퍼 = 이력 없음
+        if (!dbFallback) return ChatHistory.of(List.of());
+
+        ChatHistory history = selectChatLogs(sid);
+        if (history.chatLogs().isEmpty()) return history;
+        List<ChatLogDto> chatLogs = history.chatLogs();
+        try (AbstractPipeline pipeline = jedis.pipelined()) {
+            String key = key(sid);
+            // 최신순 목록이므로 오래된 것부터 LPUSH
+            for (int i = chatLogs.size() - 1; i >= 0; i--) {
+                pipeline.lpush(key, objectMapper.writeValueAsString(chatLogs.get(i)));
+            }
+            pipeline.ltrim(key, 0, capacity - 1);
+            pipeline.pexpire(key, ttlMillis);
+            pipeline.sync();
+        } catch (Exception e) {
+            // 채워 넣지 못해도 읽은 이력은 그대로 사용
+            log.warn("Refill Chat Session Failed : {}", e.getMessage());
+        }
+        return history;
+    }
+
+    private ChatHistory selectChatLogs(String sid) {
+        if (!dbFallback) return ChatHistory.unavailable();
+        try {
+            return ChatHistory.of(chatLogsRepository.selectLatestQnABySid(sid, capacity));
+        } catch (Exception e) {
+            log.warn("Load Chat Logs Failed : {}", e.getMessage());
+            return ChatHistory.unavailable();
+        }
+    }
+
+    private String key(String sid) {
+        return KEY_PREFIX + sid;
+    }
+}
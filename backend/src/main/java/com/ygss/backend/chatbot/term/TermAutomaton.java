@@ -0,0 +1,190 @@
+package com.ygss.backend.chatbot.term;
+
+import com.ygss.backend.chatbot.dto.TermDictionaryResponseDto;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * term_dictionary.term 전체에 대한 Aho-Corasick 오토마톤 (불변)
+ * 질문 길이에 비례하는 한 번의 순회로 질문 안의 모든 용어를 찾는다.
+ * - 대소문자 구분 없음 (etf == ETF), 글자 단위로 접어서 매칭 위치가 원문 위치와 일치
+ * - 영문/숫자 용어는 앞뒤가 영문/숫자면 매칭하지 않음 (DCA 안의 DC 제외), 한글 용어는 조사가 붙어도 매칭
+ * - 겹치는 매칭은 왼쪽 우선, 같은 위치면 긴 용어 우선
+ */
+public final class TermAutomaton {
+    private static final TermAutomaton EMPTY = build(List.of());
+
+    private final List<Map<Character, Integer>> transitions;
+    private final int[] fail;
+    // 이 노드에서 끝나는 용어 번호 (-1 : 없음)
+    private final int[] output;
+    // 실패 링크를 따라가며 만나는 가장 가까운 output 노드 (-1 : 없음)
+    private final int[] outputLink;
+    private final String[] patterns;
+    private final TermDictionaryResponseDto[] terms;
+
+    private TermAutomaton(List<Map<Character, Integer>> transitions, int[] fail, int[] output, int[] outputLink,
+                          String[] patterns, TermDictionaryResponseDto[] terms) {
+        this.transitions = transitions;
+        this.fail = fail;
+        this.output = output;
+        this.outputLink = outputLink;
+        this.patterns = patterns;
+        this.terms = terms;
+    }
+
+    public static TermAutomaton empty() {
+        return EMPTY;
+    }
+
+    public static TermAutomaton build(List<TermDictionaryResponseDto> termList) {
+        List<Map<Character, Integer>> transitions = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        List<String> patterns = new ArrayList<>();
+        List<TermDictionaryResponseDto> terms = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        outputs.add(-1);
+
+        // 1. 트라이
+        Set<String> seen = new HashSet<>();
+        for (TermDictionaryResponseDto term : termList) {
+            if (term.getTerm() == null) continue;
+            String pattern = normalize(term.getTerm());
+            if (pattern.isEmpty() || !seen.add(pattern)) continue;
+
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = transitions.get(node).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(node).put(c, next);
+                    transitions.add(new HashMap<>());
+                    outputs.add(-1);
+                }
+                node = next;
+            }
+            outputs.set(node, patterns.size());
+            patterns.add(pattern);
+            terms.add(term);
+        }
+
+        // 2. 실패 링크 / output 링크 (BFS)
+        int size = transitions.size();
+        int[] fail = new int[size];
+        int[] output = outputs.stream().mapToInt(Integer::intValue).toArray();
+        int[] outputLink = new int[size];
+        Arrays.fill(outputLink, -1);
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(0).values()) {
+            fail[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(node).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+
+                int state = fail[node];
+                while (state != 0 && !transitions.get(state).containsKey(c)) state = fail[state];
+                Integer target = transitions.get(state).get(c);
+                fail[child] = target != null && target != child ? target : 0;
+                outputLink[child] = output[fail[child]] >= 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+
+        return new TermAutomaton(transitions, fail, output, outputLink,
+                patterns.toArray(new String[0]), terms.toArray(new TermDictionaryResponseDto[0]));
+    }
+
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * @return
+     * : 질문에 등장한 용어 (등장 순서, 중복 제거)
+     */
+    public List<TermMatch> find(String text) {
+        if (patterns.length == 0 || text == null || text.isEmpty()) return List.of();
+
+        // String.toLowerCase 는 길이가 바뀔 수 있어 (İ -> i̇) 원문 위치와 어긋나므로 글자 단위로 접음
+        String normalized = foldCase(text);
+        List<TermMatch> matches = new ArrayList<>();
+        int state = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            while (state != 0 && !transitions.get(state).containsKey(c)) state = fail[state];
+            state = transitions.get(state).getOrDefault(c, 0);
+
+            for (int node = output[state] >= 0 ? state : outputLink[state]; node >= 0; node = outputLink[node]) {
+                int pattern = output[node];
+                int start = i - patterns[pattern].length() + 1;
+                if (isBounded(normalized, start, i + 1, patterns[pattern])) {
+                    matches.add(new TermMatch(terms[pattern], start, i + 1));
+                }
+            }
+        }
+        return selectLeftmostLongest(matches);
+    }
+
+    private static List<TermMatch> selectLeftmostLongest(List<TermMatch> matches) {
+        if (matches.size() <= 1) return matches;
+
+        matches.sort(Comparator.comparingInt(TermMatch::start)
+                .thenComparing(Comparator.comparingInt(TermMatch::length).reversed()));
+        List<TermMatch> selected = new ArrayList<>();
+        Set<Long> termIds = new HashSet<>();
+        int coveredUntil = 0;
+        for (TermMatch match : matches) {
+            if (match.start() < coveredUntil) continue;
+            coveredUntil = match.end();
+            if (termIds.add(match.term().getId())) selected.add(match);
+        }
+        return selected;
+    }
+
+    private static boolean isBounded(String text, int start, int end, String pattern) {
+        if (isAsciiWord(pattern.charAt(0)) && start > 0 && isAsciiWord(text.charAt(start - 1))) return false;
+        return !(isAsciiWord(pattern.charAt(pattern.length() - 1)) && end < text.length() && isAsciiWord(text.charAt(end)));
+    }
+
+    private static boolean isAsciiWord(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+
+    private static String normalize(String text) {
+        return foldCase(text.trim());
+    }
+
+    private static String foldCase(String text) {
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(text.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param start
+     * : 질문에서의 시작 위치 (포함)
+     * @param end
+     * : 끝 위치 (미포함)
+     */
+    public record TermMatch(TermDictionaryResponseDto term, int start, int end) {
+        public int length() {
+            return end - start;
+        }
+    }
+}
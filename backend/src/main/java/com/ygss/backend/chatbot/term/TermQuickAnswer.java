@@ -0,0 +1,95 @@
+package com.ygss.backend.chatbot.term;
+
+import com.ygss.backend.chatbot.dto.TermDictionaryResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * "IRP가 뭐야?" 처럼 용어 하나의 뜻만 묻는 짧은 질문은 임베딩 / 검색 / rerank / LLM 없이 바로 답한다.
+ * 용어가 질문 맨 앞에 있고, 뒤에 조사("가", "란" 등)와 "뭐야", "뜻" 같은 정의 질문 표현만 이어질 때만 해당
+ * 답변은 TermDic 의 친절한 설명이 있으면 그것을, 없으면 term_dictionary 의 정의를 사용
+ */
+@Component
+public class TermQuickAnswer {
+    // 용어 바로 뒤에 한 번만 붙는 조사 (긴 것부터 비교)
+    private static final List<String> PARTICLES = List.of(
+            "이라는", "이란", "라는", "란", "은", "는", "이", "가"
+    );
+    // 조사 뒤에 앞에서부터 이어지는 표현, 긴 것부터 비교해야 "무엇인가요" 가 "무엇" + "인가요" 로 쪼개지지 않음
+    private static final List<String> DEFINITION_PHRASES = List.of(
+            "설명해주세요", "설명해줘", "알려주세요", "알려줘", "무엇인가요", "무엇이에요", "무엇이야", "무엇인지", "무엇",
+            "뭔가요", "뭐예요", "뭐에요", "뭐야", "뭐지", "뭐임", "뭔데", "뭔지",
+            "뜻이", "뜻은", "뜻", "의미가", "의미는", "의미", "정의", "설명", "개념"
+    );
+    // 문장 끝에만 허용 ("뭐지요", "설명요")
+    private static final String POLITE_ENDING = "요";
+
+    private final TermDic termDic;
+    private final boolean enabled;
+    private final int maxLength;
+    private final Counter quickAnswerCounter;
+
+    public TermQuickAnswer(TermDic termDic,
+                           MeterRegistry meterRegistry,
+                           @Value("${chatbot.term-quick-answer.enabled:true}") boolean enabled,
+                           @Value("${chatbot.term-quick-answer.max-length:30}") int maxLength) {
+        this.termDic = termDic;
+        this.enabled = enabled;
+        this.maxLength = maxLength;
+        this.quickAnswerCounter = Counter.builder("chatbot.term.quick_answer").register(meterRegistry);
+    }
+
+    /**
+     * @return
+     * : 정의만 묻는 질문이면 로컬 답변, 아니면 null
+     */
+    public String answer(String question, List<TermAutomaton.TermMatch> matches) {
+        if (!enabled || matches.size() != 1 || question.length() > maxLength) return null;
+
+        TermAutomaton.TermMatch match = matches.get(0);
+        if (!lettersOnly(question.substring(0, match.start())).isEmpty()) return null;
+        if (!isDefinitionSuffix(lettersOnly(question.substring(match.end())))) return null;
+
+        TermDictionaryResponseDto term = match.term();
+        String answer = termDic.getTermMap().get(term.getTerm());
+        if (answer == null) {
+            if (term.getDesc() == null || term.getDesc().isBlank()) return null;
+            answer = term.getTerm() + " : " + term.getDesc();
+        }
+        quickAnswerCounter.increment();
+        return answer;
+    }
+
+    /**
+     * 조사(선택) + 정의 질문 표현들 + "요"(선택) 로만 이루어졌는지
+     */
+    private static boolean isDefinitionSuffix(String rest) {
+        int pos = startsWithAny(rest, 0, PARTICLES);
+        while (pos < rest.length()) {
+            int next = startsWithAny(rest, pos, DEFINITION_PHRASES);
+            if (next == pos) break;
+            pos = next;
+        }
+        if (rest.startsWith(POLITE_ENDING, pos)) pos += POLITE_ENDING.length();
+        return pos == rest.length();
+    }
+
+    /**
+     * @return
+     * : from 위치에서 시작하는 첫 표현의 끝 위치 (없으면 from)
+     */
+    private static int startsWithAny(String text, int from, List<String> candidates) {
+        for (String candidate : candidates) {
+            if (text.startsWith(candidate, from)) return from + candidate.length();
+        }
+        return from;
+    }
+
+    private static String lettersOnly(String text) {
+        return text.replaceAll("[^가-힣a-zA-Z0-9]", "");
+    }
+}
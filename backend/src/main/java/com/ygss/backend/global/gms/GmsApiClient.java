@@ -1,19 +1,42 @@
 package com.ygss.backend.global.gms;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ygss.backend.global.gms.dto.GeminiRequestDto;
 import com.ygss.backend.global.gms.dto.Gpt5MiniRequestDto;
+import com.ygss.backend.global.resilience.ExternalCallGuard;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.io.IOException;
+import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Component
 public class GmsApiClient {
@@ -25,17 +48,54 @@ public class GmsApiClient {
     private String OPENAI_ENDPOINT;
     @Value("${gms.gemini.endpoint}")
     private String GEMINI_ENDPOINT;
+    // 임베딩 요청 한 번에 보낼 문장 수 / 동시에 보낼 요청 수
+    @Value("${gms.embedding.batch-size:100}")
+    private int embeddingBatchSize;
+    @Value("${gms.embedding.parallelism:4}")
+    private int embeddingParallelism;
 
+    // 임베딩 응답 차원 초기 크기 (text-embedding-3-small), 부족하면 늘림
+    private static final int EMBEDDING_INITIAL_CAPACITY = 1536;
+
+    private final ObjectMapper objectMapper;
+    // 재색인 등 블로킹 경로, JDK HttpClient (HTTP/2, keep-alive 커넥션 풀)
     private final RestClient client;
+    // 채팅 경로(논블로킹) 전용, Reactor Netty 커넥션 풀 사용
+    private final WebClient webClient;
+    private final ExternalCallGuard externalCallGuard;
+    // 가상 스레드 모드 (JDK 21 이상에서 spring.threads.virtual.enabled=true)
+    private final boolean virtualThreads;
+
+    public GmsApiClient(ConnectionProvider externalApiConnectionProvider,
+                        ObjectMapper objectMapper,
+                        ExternalCallGuard externalCallGuard,
+                        @Value("${gms.http.connect-timeout-seconds:10}") int connectTimeoutSeconds,
+                        @Value("${gms.http.read-timeout-seconds:120}") int readTimeoutSeconds,
+                        @Value("${gms.http.response-timeout-seconds:60}") int responseTimeoutSeconds,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        this.objectMapper = objectMapper;
+        this.externalCallGuard = externalCallGuard;
+        this.virtualThreads = virtualThreadsEnabled && Runtime.version().feature() >= 21;
 
-    public GmsApiClient() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(Duration.ofSeconds(60));
-        factory.setReadTimeout(Duration.ofMinutes(10));
+        // 커넥션 풀 크기 / keep-alive 는 JVM 옵션 (-Djdk.httpclient.connectionPoolSize, -Djdk.httpclient.keepalive.timeout)
+        HttpClient.Builder httpClientBuilder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)     // ALPN 협상 실패 시 HTTP/1.1 keep-alive
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds));
+        // 응답 처리 / 비동기 작업도 가상 스레드에서 실행 (기본은 캐시드 플랫폼 스레드 풀, selector 스레드는 그대로)
+        if (virtualThreads) httpClientBuilder.executor(virtualThreadExecutor("gms-http-", 0));
+        HttpClient httpClient = httpClientBuilder.build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofSeconds(readTimeoutSeconds));
 
         this.client = RestClient.builder()
                 .requestFactory(factory)
                 .build();
+        reactor.netty.http.client.HttpClient reactorHttpClient = reactor.netty.http.client.HttpClient.create(externalApiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutSeconds * 1000)
+                .responseTimeout(Duration.ofSeconds(responseTimeoutSeconds));
+        this.webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(reactorHttpClient))
+                .build();
     }
 
     public String getEmbedding(String text) throws IOException {
@@ -43,28 +103,198 @@ public class GmsApiClient {
                 "model", "text-embedding-3-small",
                 "input", text
         );
-        String response = client.post()
+        String json = objectMapper.writeValueAsString(body);
+        return guarded(() -> client.post()
                 .uri(GMS_BASE_URL+OPENAI_ENDPOINT+"/embeddings")
                 .header("Authorization", String.format("Bearer %s", GMS_KEY))
                 .header("Content-Type", "application/json")
-                .body(new ObjectMapper().writeValueAsString(body))
+                .body(json)
                 .retrieve()
-                .body(String.class);
+                .body(String.class));
+    }
+
+    /**
+     * 블로킹(RestClient) 호출도 채팅 경로와 같은 GMS 벌크헤드 / 서킷 브레이커 / 타임아웃을 거친다
+     * 타임아웃, 브레이커 open, 벌크헤드 포화, HTTP 오류는 모두 IOException 으로 전달
+     */
+    private <T> T guarded(Callable<T> call) throws IOException {
+        try {
+            return externalCallGuard.call(ExternalCallGuard.GMS, call);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("GMS Call Failed : " + e.getMessage(), e);
+        }
+    }
 
-        return response;
+    /**
+     * getEmbedding + getEmbeddingArr 의 논블로킹 버전
+     */
+    public Mono<float[]> getEmbeddingMono(String text) {
+        Map<String, Object> body = Map.of(
+                "model", "text-embedding-3-small",
+                "input", text
+        );
+        return externalCallGuard.mono(ExternalCallGuard.GMS, webClient.post()
+                .uri(GMS_BASE_URL+OPENAI_ENDPOINT+"/embeddings")
+                .header("Authorization", String.format("Bearer %s", GMS_KEY))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(String.class)
+                .<float[]>handle((jsonResult, sink) -> {
+                    try {
+                        sink.next(getEmbeddingArr(jsonResult));
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                }));
     }
 
-    public float[] getEmbeddingArr(String jsonResult) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(jsonResult);
-        JsonNode embeddingArray = root.path("data").get(0).path("embedding");
-        float[] embedding = new float[embeddingArray.size()];
-        for (int j = 0; j < embeddingArray.size(); j++) {
-            embedding[j] = embeddingArray.get(j).floatValue();
+    /**
+     * 여러 문장을 배열 input 으로 묶어 임베딩
+     * batch-size 개씩 나눠 최대 parallelism 개 요청을 동시에 보낸다.
+     * @return
+     * : texts 와 같은 순서의 임베딩 목록
+     */
+    public List<float[]> getEmbeddings(List<String> texts) throws IOException {
+        if (texts.isEmpty()) return List.of();
+
+        int batchSize = Math.max(1, embeddingBatchSize);
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < texts.size(); from += batchSize) {
+            batches.add(texts.subList(from, Math.min(texts.size(), from + batchSize)));
+        }
+
+        int parallelism = Math.max(1, Math.min(embeddingParallelism, batches.size()));
+        // 가상 스레드 모드에서는 배치마다 가상 스레드, 동시 요청 수만 parallelism 으로 제한
+        ExecutorService pool = virtualThreads ? null : Executors.newFixedThreadPool(parallelism);
+        AsyncTaskExecutor executor = pool != null ? new TaskExecutorAdapter(pool) : virtualThreadExecutor("gms-embedding-", parallelism);
+        try {
+            List<Future<List<float[]>>> futures = new ArrayList<>(batches.size());
+            for (List<String> batch : batches) {
+                futures.add(executor.submit(() -> guarded(() -> requestEmbeddingBatch(batch))));
+            }
+            List<float[]> embeddings = new ArrayList<>(texts.size());
+            for (Future<List<float[]>> future : futures) {
+                embeddings.addAll(future.get());
+            }
+            return embeddings;
+        } catch (ExecutionException e) {
+            throw new IOException("Batch Embedding Failed : " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch Embedding Interrupted", e);
+        } finally {
+            if (pool != null) pool.shutdownNow();
         }
+    }
 
-        return embedding;
+    /**
+     * @param concurrencyLimit
+     * : 동시 실행 작업 수 제한 (0 이하면 제한 없음)
+     */
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        if (concurrencyLimit > 0) executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+
+    /**
+     * 응답 본문을 문자열로 모으지 않고 스트림에서 바로 float[] 로 읽는다
+     */
+    private List<float[]> requestEmbeddingBatch(List<String> texts) throws IOException {
+        Map<String, Object> body = Map.of(
+                "model", "text-embedding-3-small",
+                "input", texts
+        );
+        return client.post()
+                .uri(GMS_BASE_URL+OPENAI_ENDPOINT+"/embeddings")
+                .header("Authorization", String.format("Bearer %s", GMS_KEY))
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(body))
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new IOException("Embedding Request Failed : " + response.getStatusCode());
+                    }
+                    try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+                        return orderByIndex(parseEmbeddings(parser), texts.size());
+                    }
+                });
     }
+
+    public float[] getEmbeddingArr(String jsonResult) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonResult)) {
+            List<IndexedEmbedding> embeddings = parseEmbeddings(parser);
+            if (embeddings.isEmpty()) throw new IllegalStateException("Embedding Not Found");
+            return embeddings.get(0).embedding();
+        }
+    }
+
+    /**
+     * 배열 input 응답은 data[].index 로 원래 순서를 맞춘다 (index 가 없으면 응답 순서)
+     * 범위를 벗어나거나 중복된 index 는 배치 전체를 실패 처리
+     */
+    private List<float[]> orderByIndex(List<IndexedEmbedding> parsed, int size) throws IOException {
+        if (parsed.size() != size) throw new IOException("Embedding Count Mismatch : " + parsed.size() + "/" + size);
+
+        float[][] embeddings = new float[size][];
+        for (int i = 0; i < parsed.size(); i++) {
+            IndexedEmbedding item = parsed.get(i);
+            int index = item.index() < 0 ? i : item.index();
+            if (index >= size) throw new IOException("Embedding Index Out Of Range : " + index + "/" + size);
+            if (embeddings[index] != null) throw new IOException("Duplicate Embedding Index : " + index);
+            embeddings[index] = item.embedding();
+        }
+        return Arrays.asList(embeddings);
+    }
+
+    /**
+     * {"data": [{"index": 0, "embedding": [...]}, ...], ...} 를 토큰 단위로 읽는다
+     * JsonNode 트리(숫자마다 노드 객체)를 만들지 않고 float[] 에 바로 채움
+     */
+    private List<IndexedEmbedding> parseEmbeddings(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) throw new IOException("Invalid Embedding Response");
+
+        List<IndexedEmbedding> embeddings = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!"data".equals(field) || value != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                int index = -1;
+                float[] embedding = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    JsonToken token = parser.nextToken();
+                    if ("embedding".equals(name) && token == JsonToken.START_ARRAY) embedding = readFloatArray(parser);
+                    else if ("index".equals(name) && token == JsonToken.VALUE_NUMBER_INT) index = parser.getIntValue();
+                    else parser.skipChildren();
+                }
+                if (embedding == null) throw new IOException("Embedding Field Missing");
+                embeddings.add(new IndexedEmbedding(index, embedding));
+            }
+        }
+        return embeddings;
+    }
+
+    private float[] readFloatArray(JsonParser parser) throws IOException {
+        float[] values = new float[EMBEDDING_INITIAL_CAPACITY];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = parser.getFloatValue();
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private record IndexedEmbedding(int index, float[] embedding) {
+    }
+
     private final Gpt5MiniRequestDto developer
             = new Gpt5MiniRequestDto(
                 "developer",
@@ -87,35 +317,81 @@ public class GmsApiClient {
                 )
         );
 
-        return client.post()
+        String json = objectMapper.writeValueAsString(body);
+        return guarded(() -> client.post()
                 .uri(GMS_BASE_URL+OPENAI_ENDPOINT+"/chat/completions")
                 .header("Authorization", String.format("Bearer %s", GMS_KEY))
                 .header("Content-Type", "application/json")
-                .body(new ObjectMapper().writeValueAsString(body))
+                .body(json)
                 .retrieve()
-                .body(String.class);
+                .body(String.class));
     }
 
     public String getGeminiAnswer(Gpt5MiniRequestDto user) throws IOException {
         GeminiRequestDto request = new GeminiRequestDto(user.getContent());
-        return client.post()
+        String json = objectMapper.writeValueAsString(request);
+        return guarded(() -> client.post()
                 .uri(GMS_BASE_URL+GEMINI_ENDPOINT+String.format("?key=%s", GMS_KEY))
                 .header("Content-Type", "application/json")
-                .body(new ObjectMapper().writeValueAsString(request))
+                .body(json)
+                .retrieve()
+                .body(String.class));
+    }
+
+    /**
+     * getGeminiAnswer + getGeminiAnswerText 의 논블로킹 버전
+     */
+    public Mono<String> getGeminiAnswerMono(Gpt5MiniRequestDto user) {
+        GeminiRequestDto request = new GeminiRequestDto(user.getContent());
+        return externalCallGuard.mono(ExternalCallGuard.GMS, webClient.post()
+                .uri(GMS_BASE_URL+GEMINI_ENDPOINT+String.format("?key=%s", GMS_KEY))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(String.class)
+                .<String>handle((jsonResult, sink) -> {
+                    try {
+                        sink.next(getGeminiAnswerText(jsonResult));
+                    } catch (JsonProcessingException e) {
+                        sink.error(e);
+                    }
+                }));
+    }
+
+    /**
+     * generateContent 대신 streamGenerateContent(alt=sse) 를 호출해 답변을 조각 단위로 받는다
+     * @return
+     * : 도착 순서대로의 답변 텍스트 조각
+     */
+    public Flux<String> streamGeminiAnswer(Gpt5MiniRequestDto user) {
+        GeminiRequestDto request = new GeminiRequestDto(user.getContent());
+        String endpoint = GEMINI_ENDPOINT.replace(":generateContent", ":streamGenerateContent");
+        return externalCallGuard.flux(ExternalCallGuard.GMS, webClient.post()
+                .uri(GMS_BASE_URL+endpoint+String.format("?alt=sse&key=%s", GMS_KEY))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
                 .retrieve()
-                .body(String.class);
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                .mapNotNull(ServerSentEvent::data)
+                .<String>handle((data, sink) -> {
+                    try {
+                        // 마지막 조각은 finishReason 만 있고 text 가 없을 수 있음
+                        String text = objectMapper.readTree(data).at("/candidates/0/content/parts/0/text").asText("");
+                        if (!text.isEmpty()) sink.next(text);
+                    } catch (JsonProcessingException e) {
+                        sink.error(e);
+                    }
+                }));
     }
 
     public String getGptAnswerText(String jsonResult) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(jsonResult);
+        JsonNode root = objectMapper.readTree(jsonResult);
         JsonNode answerText = root.path("choices").get(0).path("message").path("content");
         return answerText.asText();
     }
 
     public String getGeminiAnswerText(String jsonResult) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(jsonResult);
+        JsonNode root = objectMapper.readTree(jsonResult);
 
         // 1. "candidates" 배열에 접근합니다. (OpenAI의 "choices"와 유사)
         JsonNode candidates = root.path("candidates");
@@ -0,0 +1,8 @@
+package com.ygss.backend.global.redis;
+
+/**
+ * float 벡터 내적 구현 (SIMD / 스칼라)
+ */
+interface DotProduct {
+    float dot(float[] a, int offsetA, float[] b, int offsetB, int length);
+}
@@ -0,0 +1,232 @@
+package com.ygss.backend.global.redis;
+
+import com.ygss.backend.chatbot.dto.SearchResultDto;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * HNSW (Hierarchical Navigable Small World) 근사 최근접 이웃 인덱스
+ * - 벡터는 VectorIndex 의 행렬을 그대로 공유하고, 그래프(이웃 행 번호)만 따로 보관
+ * - M : 노드당 이웃 수 (0 층은 2M)
+ * - efConstruction : 그래프 생성 시 탐색 폭
+ * - efSearch : 검색 시 탐색 폭 (클수록 recall 증가, 지연 증가)
+ */
+public class HnswIndex implements VectorSearch {
+    private final VectorIndex vectors;
+    private final int m;
+    private final int efSearch;
+    private final double levelMultiplier;
+
+    // neighbors[node][level] = 이웃 행 번호, neighborCounts[node][level] = 실제 이웃 수
+    private final int[][][] neighbors;
+    private final int[][] neighborCounts;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    private HnswIndex(VectorIndex vectors, int m, int efSearch) {
+        this.vectors = vectors;
+        this.m = m;
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.neighbors = new int[vectors.size()][][];
+        this.neighborCounts = new int[vectors.size()][];
+    }
+
+    public static HnswIndex build(VectorIndex vectors, int m, int efConstruction, int efSearch, long seed) {
+        HnswIndex hnsw = new HnswIndex(vectors, Math.max(2, m), Math.max(1, efSearch));
+        Random random = new Random(seed);
+        for (int row = 0; row < vectors.size(); row++) {
+            hnsw.insert(row, hnsw.randomLevel(random), Math.max(efConstruction, m));
+        }
+        return hnsw;
+    }
+
+    @Override
+    public int size() {
+        return vectors.size();
+    }
+
+    public int getM() {
+        return m;
+    }
+
+    @Override
+    public List<SearchResultDto> search(float[] queryVector, int k, double minSimilarity) {
+        return search(queryVector, k, minSimilarity, efSearch);
+    }
+
+    /**
+     * efSearch 를 호출마다 바꿔가며 recall / 지연을 비교할 때 사용
+     */
+    public List<SearchResultDto> search(float[] queryVector, int k, double minSimilarity, int ef) {
+        if (entryPoint < 0 || k <= 0 || queryVector.length != vectors.dimension()) return List.of();
+
+        int current = entryPoint;
+        double currentSim = vectors.similarity(queryVector, current);
+        for (int level = maxLevel; level > 0; level--) {
+            current = greedySearch(queryVector, current, currentSim, level);
+            currentSim = vectors.similarity(queryVector, current);
+        }
+
+        PriorityQueue<Candidate> found = searchLayer(queryVector, current, currentSim, Math.max(ef, k), 0);
+        List<Candidate> sorted = new ArrayList<>(found);
+        sorted.sort(Comparator.comparingDouble(Candidate::similarity).reversed());
+
+        List<SearchResultDto> result = new ArrayList<>(Math.min(k, sorted.size()));
+        for (Candidate candidate : sorted) {
+            if (result.size() == k) break;
+            if (candidate.similarity() < minSimilarity) break;
+            result.add(vectors.resultAt(candidate.row(), candidate.similarity()));
+        }
+        return result;
+    }
+
+    private int randomLevel(Random random) {
+        return (int) Math.floor(-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+    }
+
+    private int maxNeighbors(int level) {
+        return level == 0 ? m * 2 : m;
+    }
+
+    private void insert(int row, int level, int efConstruction) {
+        neighbors[row] = new int[level + 1][];
+        neighborCounts[row] = new int[level + 1];
+        for (int l = 0; l <= level; l++) {
+            neighbors[row][l] = new int[maxNeighbors(l)];
+        }
+
+        if (entryPoint < 0) {
+            entryPoint = row;
+            maxLevel = level;
+            return;
+        }
+
+        float[] vector = vectors.vectorAt(row);
+        int current = entryPoint;
+        double currentSim = vectors.similarity(vector, current);
+        for (int l = maxLevel; l > level; l--) {
+            current = greedySearch(vector, current, currentSim, l);
+            currentSim = vectors.similarity(vector, current);
+        }
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            PriorityQueue<Candidate> found = searchLayer(vector, current, currentSim, efConstruction, l);
+            List<Candidate> sorted = new ArrayList<>(found);
+            sorted.sort(Comparator.comparingDouble(Candidate::similarity).reversed());
+
+            int limit = Math.min(m, sorted.size());
+            for (int i = 0; i < limit; i++) {
+                int neighbor = sorted.get(i).row();
+                addLink(row, neighbor, l);
+                addLink(neighbor, row, l);
+            }
+            current = sorted.get(0).row();
+            currentSim = sorted.get(0).similarity();
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = row;
+        }
+    }
+
+    /**
+     * 이웃 목록이 가득 차면 가장 덜 유사한 이웃을 교체
+     */
+    private void addLink(int from, int to, int level) {
+        int[] links = neighbors[from][level];
+        int count = neighborCounts[from][level];
+        if (count < links.length) {
+            links[count] = to;
+            neighborCounts[from][level] = count + 1;
+            return;
+        }
+
+        double newSim = vectors.similarity(from, to);
+        int worst = -1;
+        double worstSim = newSim;
+        for (int i = 0; i < count; i++) {
+            double sim = vectors.similarity(from, links[i]);
+            if (sim < worstSim) {
+                worstSim = sim;
+                worst = i;
+            }
+        }
+        if (worst >= 0) links[worst] = to;
+    }
+
+    /**
+     * 한 층에서 더 유사한 이웃이 없을 때까지 이동
+     * @return
+     * : 도착한 행 번호
+     */
+    private int greedySearch(float[] query, int start, double startSim, int level) {
+        int current = start;
+        double currentSim = startSim;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] links = neighbors[current][level];
+            int count = neighborCounts[current][level];
+            for (int i = 0; i < count; i++) {
+                double sim = vectors.similarity(query, links[i]);
+                if (sim > currentSim) {
+                    currentSim = sim;
+                    current = links[i];
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return
+     * : 가장 유사한 ef 개 후보 (min-heap, peek 이 가장 덜 유사한 후보)
+     */
+    private PriorityQueue<Candidate> searchLayer(float[] query, int start, double startSim, int ef, int level) {
+        BitSet visited = new BitSet(vectors.size());
+        visited.set(start);
+
+        PriorityQueue<Candidate> candidates =
+                new PriorityQueue<>(Comparator.comparingDouble(Candidate::similarity).reversed());
+        PriorityQueue<Candidate> found =
+                new PriorityQueue<>(Comparator.comparingDouble(Candidate::similarity));
+        Candidate first = new Candidate(start, startSim);
+        candidates.add(first);
+        found.add(first);
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (found.size() >= ef && closest.similarity() < found.peek().similarity()) break;
+
+            int[][] nodeLinks = neighbors[closest.row()];
+            if (level >= nodeLinks.length) continue;
+            int[] links = nodeLinks[level];
+            int count = neighborCounts[closest.row()][level];
+            for (int i = 0; i < count; i++) {
+                int next = links[i];
+                if (visited.get(next)) continue;
+                visited.set(next);
+
+                double sim = vectors.similarity(query, next);
+                if (found.size() < ef || sim > found.peek().similarity()) {
+                    Candidate candidate = new Candidate(next, sim);
+                    candidates.add(candidate);
+                    found.add(candidate);
+                    if (found.size() > ef) found.poll();
+                }
+            }
+        }
+        return found;
+    }
+
+    private record Candidate(int row, double similarity) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.ygss.backend.global.redis;
+
+import java.nio.ByteBuffer;
+
+/**
+ * int8 양자화 임베딩 포맷 (key 끝에 ":q8" 태그)
+ * value = [scale float32][int8 * dimension]
+ * 1536 차원 기준 6144 byte → 1540 byte
+ */
+public final class Int8VectorCodec {
+    public static final String FORMAT_TAG = "q8";
+
+    private Int8VectorCodec() {
+    }
+
+    /**
+     * 벡터별 대칭 양자화 : q = round(x / scale), scale = max|x| / 127
+     */
+    public static byte[] encode(float[] vector) {
+        float maxAbs = 0f;
+        for (float v : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(v));
+        }
+        float scale = maxAbs == 0f ? 1f : maxAbs / 127f;
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + vector.length);
+        buffer.putFloat(scale);
+        for (float v : vector) {
+            buffer.put((byte) Math.max(-127, Math.min(127, Math.round(v / scale))));
+        }
+        return buffer.array();
+    }
+
+    public static int dimension(byte[] bytes) {
+        return bytes.length - 4;
+    }
+
+    /**
+     * scale 을 뺀 int8 코드만 target[offset..] 에 복사 (메모리 인덱스가 코드 그대로 보관)
+     */
+    public static void copyCodes(byte[] bytes, byte[] target, int offset) {
+        System.arraycopy(bytes, 4, target, offset, bytes.length - 4);
+    }
+
+    public static float[] decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        float scale = buffer.getFloat();
+        float[] vector = new float[bytes.length - 4];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = buffer.get() * scale;
+        }
+        return vector;
+    }
+}
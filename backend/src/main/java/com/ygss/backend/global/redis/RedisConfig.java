@@ -1,9 +1,18 @@
 package com.ygss.backend.global.redis;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.util.Pool;
+
+import java.time.Duration;
 
 @Configuration
 public class RedisConfig {
@@ -14,14 +23,62 @@ public class RedisConfig {
     private int port;
     @Value("${spring.redis.password}")
     private String password;
+    @Value("${spring.redis.timeout-millis:2000}")
+    private int timeoutMillis;
 
+    // 커넥션 풀 설정 (톰캣 워커 수에 맞춰 조정)
+    @Value("${spring.redis.pool.max-total:32}")
+    private int maxTotal;
+    @Value("${spring.redis.pool.max-idle:16}")
+    private int maxIdle;
+    @Value("${spring.redis.pool.min-idle:4}")
+    private int minIdle;
+    @Value("${spring.redis.pool.max-wait-millis:1000}")
+    private long maxWaitMillis;
 
-    @Bean
-    public Jedis jedis() {
-        Jedis jedis = new Jedis(host, port);
+    /**
+     * 요청 스레드마다 풀에서 커넥션을 빌려 쓰는 thread-safe 클라이언트
+     * (단일 Jedis 커넥션을 싱글톤으로 공유하지 않는다)
+     */
+    @Bean(destroyMethod = "close")
+    public JedisPooled jedisPooled() {
+        GenericObjectPoolConfig<Connection> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(maxTotal);
+        poolConfig.setMaxIdle(maxIdle);
+        poolConfig.setMinIdle(minIdle);
+        poolConfig.setMaxWait(Duration.ofMillis(maxWaitMillis));
+        poolConfig.setTestWhileIdle(true);
+        poolConfig.setJmxEnabled(false);
+
+        DefaultJedisClientConfig.Builder clientConfig = DefaultJedisClientConfig.builder()
+                .timeoutMillis(timeoutMillis);
         if (password != null && !password.isEmpty()) {
-            jedis.auth(password);
+            clientConfig.password(password);
         }
-        return jedis;
+        return new JedisPooled(new HostAndPort(host, port), clientConfig.build(), poolConfig);
+    }
+
+    /**
+     * 풀 사용량 지표 (redis.pool.*)
+     */
+    @Bean
+    public MeterBinder redisPoolMetrics(JedisPooled jedisPooled) {
+        return (registry) -> {
+            Pool<Connection> pool = jedisPooled.getPool();
+            Gauge.builder("redis.pool.active", pool, Pool::getNumActive)
+                    .description("사용 중인 Redis 커넥션 수")
+                    .register(registry);
+            Gauge.builder("redis.pool.idle", pool, Pool::getNumIdle)
+                    .description("유휴 Redis 커넥션 수")
+                    .register(registry);
+            Gauge.builder("redis.pool.waiters", pool, Pool::getNumWaiters)
+                    .description("커넥션을 기다리는 스레드 수")
+                    .register(registry);
+            Gauge.builder("redis.pool.borrow.wait.mean", pool, Pool::getMeanBorrowWaitTimeMillis)
+                    .description("커넥션 대여 평균 대기 시간(ms)")
+                    .register(registry);
+            Gauge.builder("redis.pool.max", pool, (target) -> maxTotal)
+                    .register(registry);
+        };
     }
 }
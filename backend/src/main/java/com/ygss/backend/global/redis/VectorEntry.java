@@ -0,0 +1,16 @@
+package com.ygss.backend.global.redis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 재색인 시 한 번에 기록할 임베딩 한 건
+ */
+@Getter
+@AllArgsConstructor
+public class VectorEntry {
+    private final Long termId;
+    private final Long id;
+    private final String type;          // "Q" 또는 "A"
+    private final float[] embedding;
+}
@@ -0,0 +1,249 @@
+package com.ygss.backend.global.redis;
+
+import com.ygss.backend.chatbot.dto.SearchResultDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Redis 에 저장된 임베딩을 메모리에 올려둔 불변 스냅샷
+ * - 모든 벡터를 하나의 연속된 float[] 행렬(row-major)로 보관
+ *   (q8 인덱스는 int8 코드 byte[] 행렬 + 행별 1/‖q‖, 유사도는 코드 위에서 바로 계산)
+ * - id / termId / prefix / type 은 같은 행 번호를 쓰는 병렬 배열
+ * - 각 행은 적재 시 단위 벡터로 정규화 (질의도 정규화해서 전달해야 함)
+ * 검색 시 Redis 호출 없이 메모리에서 Top K 를 계산한다.
+ */
+public class VectorIndex implements VectorSearch {
+    private static final VectorIndex EMPTY = new VectorIndex(0, 0, new float[0], null, null, new long[0], new long[0], new String[0], new String[0]);
+
+    private final int dimension;
+    private final int size;
+    private final float[] matrix;
+    // q8 인덱스일 때만 사용 (matrix 는 비어 있음)
+    private final byte[] codes;
+    private final float[] inverseNorms;
+    private final long[] ids;
+    private final long[] termIds;
+    private final String[] prefixes;
+    private final String[] types;
+
+    private VectorIndex(int dimension, int size, float[] matrix, byte[] codes, float[] inverseNorms,
+                        long[] ids, long[] termIds, String[] prefixes, String[] types) {
+        this.dimension = dimension;
+        this.size = size;
+        this.matrix = matrix;
+        this.codes = codes;
+        this.inverseNorms = inverseNorms;
+        this.ids = ids;
+        this.termIds = termIds;
+        this.prefixes = prefixes;
+        this.types = types;
+    }
+
+    public static VectorIndex empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder(false);
+    }
+
+    /**
+     * @param quantized
+     * : true 면 int8 코드로 보관 (float32 벡터도 적재 시 양자화)
+     */
+    public static Builder builder(boolean quantized) {
+        return new Builder(quantized);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public boolean isQuantized() {
+        return codes != null;
+    }
+
+    /**
+     * @param queryVector
+     * : 사용자의 질의를 임베딩한 값
+     * @param k
+     * : Top K
+     * @param minSimilarity
+     * : 이 값보다 유사도가 낮은 벡터는 후보에서 제외
+     * @return
+     * : 유사도 내림차순 K 개
+     */
+    @Override
+    public List<SearchResultDto> search(float[] queryVector, int k, double minSimilarity) {
+        if (size == 0 || k <= 0 || queryVector.length != dimension) return List.of();
+
+        // 작은 K 에 대해 정렬된 배열로 Top K 유지 (행 번호와 점수만 보관)
+        int limit = Math.min(k, size);
+        int[] topRows = new int[limit];
+        double[] topScores = new double[limit];
+        int count = 0;
+
+        for (int row = 0; row < size; row++) {
+            double sim = cosineAt(queryVector, row * dimension);
+            if (sim < minSimilarity) continue;
+            if (count == limit && sim <= topScores[count - 1]) continue;
+
+            int pos = count == limit ? count - 1 : count++;
+            while (pos > 0 && topScores[pos - 1] < sim) {
+                topScores[pos] = topScores[pos - 1];
+                topRows[pos] = topRows[pos - 1];
+                pos--;
+            }
+            topScores[pos] = sim;
+            topRows[pos] = row;
+        }
+
+        List<SearchResultDto> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(resultAt(topRows[i], topScores[i]));
+        }
+        return result;
+    }
+
+    // 아래는 같은 행렬 위에 그래프를 얹는 HnswIndex 용 접근자
+    double similarity(float[] query, int row) {
+        return cosineAt(query, row * dimension);
+    }
+
+    double similarity(int rowA, int rowB) {
+        return cosineAt(matrix, rowA * dimension, rowB * dimension);
+    }
+
+    float[] vectorAt(int row) {
+        if (codes == null) return Arrays.copyOfRange(matrix, row * dimension, (row + 1) * dimension);
+        float[] vector = new float[dimension];
+        int offset = row * dimension;
+        for (int i = 0; i < dimension; i++) vector[i] = codes[offset + i] * inverseNorms[row];
+        return vector;
+    }
+
+    SearchResultDto resultAt(int row, double similarity) {
+        return new SearchResultDto(prefixes[row], termIds[row], ids[row], types[row], similarity);
+    }
+
+    // 저장 벡터와 질의 모두 단위 벡터이므로 내적 = 코사인 유사도
+    private double cosineAt(float[] query, int offset) {
+        if (codes == null) return VectorMath.dot(query, 0, matrix, offset, dimension);
+        float sum = 0f;
+        for (int i = 0; i < dimension; i++) sum += query[i] * codes[offset + i];
+        return sum * inverseNorms[offset / dimension];
+    }
+
+    private double cosineAt(float[] source, int offsetA, int offsetB) {
+        if (codes == null) return VectorMath.dot(source, offsetA, matrix, offsetB, dimension);
+        int sum = 0;
+        for (int i = 0; i < dimension; i++) sum += codes[offsetA + i] * codes[offsetB + i];
+        return sum * (double) inverseNorms[offsetA / dimension] * inverseNorms[offsetB / dimension];
+    }
+
+    public static class Builder {
+        private final boolean quantized;
+        private int dimension = -1;
+        private int size = 0;
+        private float[] matrix = new float[0];
+        private byte[] codes = new byte[0];
+        private float[] inverseNorms = new float[16];
+        private long[] ids = new long[16];
+        private long[] termIds = new long[16];
+        private String[] prefixes = new String[16];
+        private String[] types = new String[16];
+
+        private Builder(boolean quantized) {
+            this.quantized = quantized;
+        }
+
+        /**
+         * @return
+         * : 차원이 맞지 않아 추가하지 못하면 false
+         */
+        public boolean add(String prefix, long termId, long id, String type, float[] vector) {
+            // 예전 포맷(정규화 전) 데이터도 적재 시점에 한 번만 정규화
+            float[] normalized = VectorMath.normalize(vector);
+            if (quantized) return addQuantized(prefix, termId, id, type, Int8VectorCodec.encode(normalized));
+            if (!reserve(vector.length)) return false;
+
+            System.arraycopy(normalized, 0, matrix, size * dimension, dimension);
+            append(prefix, termId, id, type);
+            return true;
+        }
+
+        /**
+         * @param encoded
+         * : Int8VectorCodec 포맷 값 (float32 인덱스면 복원해서 적재)
+         */
+        public boolean addQuantized(String prefix, long termId, long id, String type, byte[] encoded) {
+            if (!quantized) return add(prefix, termId, id, type, Int8VectorCodec.decode(encoded));
+            int length = Int8VectorCodec.dimension(encoded);
+            if (!reserve(length)) return false;
+
+            int offset = size * dimension;
+            Int8VectorCodec.copyCodes(encoded, codes, offset);
+            long squared = 0;
+            for (int i = 0; i < dimension; i++) squared += codes[offset + i] * codes[offset + i];
+            inverseNorms[size] = squared == 0 ? 0f : (float) (1.0 / Math.sqrt(squared));
+            append(prefix, termId, id, type);
+            return true;
+        }
+
+        private boolean reserve(int length) {
+            if (dimension == -1) {
+                dimension = length;
+                if (quantized) codes = new byte[dimension * 16];
+                else matrix = new float[dimension * 16];
+            }
+            if (length != dimension || dimension == 0) return false;
+            if (size == ids.length) grow();
+            return true;
+        }
+
+        private void append(String prefix, long termId, long id, String type) {
+            ids[size] = id;
+            termIds[size] = termId;
+            prefixes[size] = prefix;
+            types[size] = type;
+            size++;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            if (quantized) {
+                codes = Arrays.copyOf(codes, capacity * dimension);
+                inverseNorms = Arrays.copyOf(inverseNorms, capacity);
+            } else {
+                matrix = Arrays.copyOf(matrix, capacity * dimension);
+            }
+            ids = Arrays.copyOf(ids, capacity);
+            termIds = Arrays.copyOf(termIds, capacity);
+            prefixes = Arrays.copyOf(prefixes, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+
+        public VectorIndex build() {
+            if (size == 0) return EMPTY;
+            // 여유 공간은 잘라내고 정확한 크기의 배열만 보관
+            return new VectorIndex(
+                    dimension,
+                    size,
+                    quantized ? new float[0] : Arrays.copyOf(matrix, size * dimension),
+                    quantized ? Arrays.copyOf(codes, size * dimension) : null,
+                    quantized ? Arrays.copyOf(inverseNorms, size) : null,
+                    Arrays.copyOf(ids, size),
+                    Arrays.copyOf(termIds, size),
+                    Arrays.copyOf(prefixes, size),
+                    Arrays.copyOf(types, size)
+            );
+        }
+    }
+}
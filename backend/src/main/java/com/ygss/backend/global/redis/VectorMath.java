@@ -0,0 +1,69 @@
+package com.ygss.backend.global.redis;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 임베딩 정규화 / 내적 유틸
+ * 저장 벡터와 질의 벡터를 모두 단위 벡터로 맞춰두면 코사인 유사도 = 내적
+ */
+@Slf4j
+public final class VectorMath {
+    private static final DotProduct DOT_PRODUCT = loadDotProduct();
+
+    private VectorMath() {
+    }
+
+    private static DotProduct loadDotProduct() {
+        try {
+            DotProduct simd = (DotProduct) Class.forName("com.ygss.backend.global.redis.SimdDotProduct")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            simd.dot(new float[1], 0, new float[1], 0, 1);
+            log.info("Vector Dot Product : jdk.incubator.vector");
+            return simd;
+        } catch (Throwable e) {
+            // 모듈이 추가되지 않은 JVM 에서는 NoClassDefFoundError → 스칼라 구현 사용
+            log.info("Vector Dot Product : scalar fallback ({})", e.getClass().getSimpleName());
+            return VectorMath::scalarDot;
+        }
+    }
+
+    public static float dot(float[] a, int offsetA, float[] b, int offsetB, int length) {
+        return DOT_PRODUCT.dot(a, offsetA, b, offsetB, length);
+    }
+
+    public static float dot(float[] a, float[] b) {
+        return DOT_PRODUCT.dot(a, 0, b, 0, Math.min(a.length, b.length));
+    }
+
+    static float scalarDot(float[] a, int offsetA, float[] b, int offsetB, int length) {
+        // 누산기를 나눠 의존성 체인을 끊어준다
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            s0 += a[offsetA + i] * b[offsetB + i];
+            s1 += a[offsetA + i + 1] * b[offsetB + i + 1];
+            s2 += a[offsetA + i + 2] * b[offsetB + i + 2];
+            s3 += a[offsetA + i + 3] * b[offsetB + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[offsetA + i] * b[offsetB + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * @return
+     * : 길이 1 로 정규화한 새 배열 (영벡터는 그대로 복사)
+     */
+    public static float[] normalize(float[] vector) {
+        float[] normalized = vector.clone();
+        double norm = Math.sqrt(dot(vector, vector));
+        if (norm == 0.0) return normalized;
+        float inverse = (float) (1.0 / norm);
+        for (int i = 0; i < normalized.length; i++) {
+            normalized[i] *= inverse;
+        }
+        return normalized;
+    }
+}
@@ -1,19 +1,69 @@
 package com.ygss.backend.global.redis;
 
+import com.ygss.backend.chatbot.dto.AnnReportDto;
 import com.ygss.backend.chatbot.dto.SearchResultDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.params.ScanParams;
 import redis.clients.jedis.resps.ScanResult;
 
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+@Slf4j
 @Component
 public class VectorRepository {
-    private final Jedis jedis;
+    private static final double MIN_SIMILARITY = 0.45;
+    private static final int SCAN_COUNT = 1000;
+    private static final double RESCORE_MARGIN = 0.05;
+    private static final int WRITE_BATCH_SIZE = 500;
+    // alias key 는 string 타입이라 list SCAN 에 잡히지 않는다
+    private static final String ALIAS_KEY_PREFIX = "vector:alias:";
+    private static final String VERSION_SEPARATOR = "_v";
+    private static final Pattern VERSIONED_NAMESPACE = Pattern.compile("(.+)_v\\d+");
+    // 재색인 / 재적재 직렬화 (Redis I/O 를 감싸므로 가상 스레드를 고정시키는 synchronized 대신 사용)
+    private final ReentrantLock indexLock = new ReentrantLock();
 
-    public VectorRepository(Jedis jedis) { this.jedis = jedis; }
+    // exact : 전수 비교 / hnsw : 근사 검색 / auto : min-size 이상이면 hnsw
+    @Value("${vector.search.mode:auto}")
+    private String searchMode;
+    @Value("${vector.hnsw.min-size:5000}")
+    private int hnswMinSize;
+    @Value("${vector.hnsw.m:16}")
+    private int hnswM;
+    @Value("${vector.hnsw.ef-construction:200}")
+    private int hnswEfConstruction;
+    @Value("${vector.hnsw.ef-search:64}")
+    private int hnswEfSearch;
+    // f32 : float32 원본 / q8 : int8 양자화 (Redis / 메모리 인덱스 모두 int8 코드)
+    @Value("${vector.storage.format:f32}")
+    private String storageFormat;
+    // q8 포맷에서 재채점용 float32 를 함께 저장하고 상위 k * rescore-factor 개를 원본으로 재채점 (기본 켜짐)
+    // 끄면 Redis 사용량은 줄지만 순위를 양자화 점수로만 정하고, 질의마다 Redis 왕복 1회가 빠진다
+    @Value("${vector.storage.keep-full-precision:true}")
+    private boolean keepFullPrecision;
+    @Value("${vector.quantization.rescore-factor:4}")
+    private int rescoreFactor;
+
+    // 커넥션 풀 기반 thread-safe 클라이언트 (요청 스레드 간 공유)
+    private final JedisPooled jedis;
+    // 정확 검색용 스냅샷 (작은 코퍼스 / ANN 비교 기준)
+    private volatile VectorIndex index = VectorIndex.empty();
+    // 실제 검색에 사용하는 방식 (재색인 시 통째로 교체)
+    private volatile VectorSearch search = VectorIndex.empty();
+    // 메모리 인덱스가 int8 코드면 (keep-full-precision 일 때) 재채점 대상
+    private volatile boolean quantizedIndex = false;
+
+    public VectorRepository(JedisPooled jedis) { this.jedis = jedis; }
 
     private byte[] toBytes(float[] vector) {
         ByteBuffer buffer = ByteBuffer.allocate(vector.length * 4);
@@ -36,28 +86,244 @@ public class VectorRepository {
         return floats;
     }
 
-    public void saveVectorChunk(String prefix, Long termId, Long id, String type, float[] embedding) {
-        String key = prefix + ":" + termId + ":" + id + ":" + type; // type: "Q" 또는 "A"
-        jedis.rpush(key.getBytes(), toBytes(embedding));
+    private void queueVector(AbstractPipeline pipeline, String namespace, Long termId, Long id, String type, float[] embedding) {
+        String key = namespace + ":" + termId + ":" + id + ":" + type; // type: "Q" 또는 "A"
+        // 저장 시 정규화해두고 검색은 내적만 계산
+        float[] normalized = VectorMath.normalize(embedding);
+        if (isQuantizedFormat()) {
+            pipeline.rpush(quantizedKey(key).getBytes(), Int8VectorCodec.encode(normalized));
+            if (!keepFullPrecision) return;
+        }
+        pipeline.rpush(key.getBytes(), toBytes(normalized));
+    }
+
+    /**
+     * prefix 의 활성 네임스페이스 (alias 가 없으면 prefix 그대로 = 예전 key 구조)
+     */
+    public String resolveNamespace(String prefix) {
+        String namespace = jedis.get(ALIAS_KEY_PREFIX + prefix);
+        return namespace == null ? prefix : namespace;
+    }
+
+    /**
+     * 새 버전 네임스페이스(prefix_v{version})에 전체 임베딩을 파이프라인으로 기록한 뒤
+     * alias key 를 SET 한 번으로 교체한다.
+     * - 기록 중인 네임스페이스는 alias 가 가리키기 전까지 인덱스에 적재되지 않음
+     * - 몇 번을 다시 실행해도 이전 버전을 지우므로 벡터가 중복되지 않음
+     * @return
+     * : 새로 활성화된 네임스페이스
+     */
+    public String rebuildNamespace(String prefix, List<VectorEntry> entries) {
+        indexLock.lock();
+        try {
+            String previous = jedis.get(ALIAS_KEY_PREFIX + prefix);
+            // 이전 재색인이 alias 교체 전에 중단돼 남은 버전 정리
+            deleteOrphanNamespaces(prefix, previous);
+            String namespace = prefix + VERSION_SEPARATOR + System.currentTimeMillis();
+
+            long start = System.currentTimeMillis();
+            for (int from = 0; from < entries.size(); from += WRITE_BATCH_SIZE) {
+                List<VectorEntry> batch = entries.subList(from, Math.min(entries.size(), from + WRITE_BATCH_SIZE));
+                try (AbstractPipeline pipeline = jedis.pipelined()) {
+                    batch.forEach((entry) -> queueVector(pipeline, namespace, entry.getTermId(), entry.getId(), entry.getType(), entry.getEmbedding()));
+                    pipeline.sync();
+                }
+            }
+            jedis.set(ALIAS_KEY_PREFIX + prefix, namespace);
+            log.info("Vector Namespace Swapped : {} -> {} ({} vectors, {}ms)",
+                    previous == null ? prefix : previous, namespace, entries.size(), System.currentTimeMillis() - start);
+
+            reloadIndex();
+            // 예전 네임스페이스 정리 (alias 도입 전 key 구조 포함)
+            deleteNamespace(previous == null ? prefix : previous);
+            return namespace;
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private void deleteNamespace(String namespace) {
+        ScanParams params = new ScanParams().match(namespace + ":*").count(SCAN_COUNT);
+        String cursor = ScanParams.SCAN_POINTER_START;
+        long deleted = 0;
+        do {
+            ScanResult<String> scanResult = jedis.scan(cursor, params, "list");
+            if (!scanResult.getResult().isEmpty()) {
+                deleted += jedis.unlink(scanResult.getResult().toArray(new String[0]));
+            }
+            cursor = scanResult.getCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+        log.info("Vector Namespace Deleted : {} ({} keys)", namespace, deleted);
+    }
+
+    /**
+     * alias 가 가리키지 않는 prefix_v{version} 네임스페이스의 key 를 모두 UNLINK
+     * (기록 도중 프로세스가 죽으면 alias 교체 없이 남으므로 재색인 때마다 정리)
+     */
+    private void deleteOrphanNamespaces(String prefix, String active) {
+        ScanParams params = new ScanParams().match(prefix + VERSION_SEPARATOR + "*").count(SCAN_COUNT);
+        String cursor = ScanParams.SCAN_POINTER_START;
+        Set<String> orphans = new HashSet<>();
+        long deleted = 0;
+        do {
+            ScanResult<String> scanResult = jedis.scan(cursor, params, "list");
+            List<String> keys = new ArrayList<>();
+            for (String key : scanResult.getResult()) {
+                String namespace = key.split(":", 2)[0];
+                Matcher matcher = VERSIONED_NAMESPACE.matcher(namespace);
+                if (!matcher.matches() || !matcher.group(1).equals(prefix) || namespace.equals(active)) continue;
+                orphans.add(namespace);
+                keys.add(key);
+            }
+            if (!keys.isEmpty()) deleted += jedis.unlink(keys.toArray(new String[0]));
+            cursor = scanResult.getCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+        if (!orphans.isEmpty()) log.warn("Orphan Vector Namespaces Deleted : {} ({} keys)", orphans, deleted);
+    }
+
+    /**
+     * 활성 네임스페이스만 인덱스에 적재
+     * - prefix_v{version} : alias 가 가리키는 버전만
+     * - 버전 없는 prefix : alias 가 아직 없을 때만 (예전 key 구조)
+     */
+    private boolean isActiveNamespace(String namespace, Map<String, String> aliases) {
+        Matcher matcher = VERSIONED_NAMESPACE.matcher(namespace);
+        String prefix = matcher.matches() ? matcher.group(1) : namespace;
+        String active = aliases.computeIfAbsent(prefix, (target) -> {
+            String alias = jedis.get(ALIAS_KEY_PREFIX + target);
+            return alias == null ? "" : alias;
+        });
+        return active.isEmpty() ? !matcher.matches() : active.equals(namespace);
+    }
+
+    private boolean isQuantizedFormat() {
+        return Int8VectorCodec.FORMAT_TAG.equalsIgnoreCase(storageFormat);
+    }
+
+    private String quantizedKey(String key) {
+        return key + ":" + Int8VectorCodec.FORMAT_TAG;
+    }
+
+    /**
+     * 서버 기동 시 Redis 의 임베딩을 한 번만 읽어 메모리 인덱스를 구성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexOnStartup() {
+        try {
+            reloadIndex();
+        } catch (Exception e) {
+            log.error("Load Vector Index Failed : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Redis 전체를 SCAN 하여 인덱스를 새로 만들고 교체
+     * 재색인 이후 호출해서 메모리 인덱스와 Redis 를 동기화한다.
+     * 같은 key 가 두 포맷으로 모두 있으면 vector.storage.format 쪽을 읽는다.
+     */
+    public int reloadIndex() {
+        indexLock.lock();
+        try {
+            Set<String> fullKeys = new LinkedHashSet<>();
+            Set<String> quantizedKeys = new LinkedHashSet<>();
+            scanVectorKeys(fullKeys, quantizedKeys);
+
+            Set<String> baseKeys = new LinkedHashSet<>(fullKeys);
+            baseKeys.addAll(quantizedKeys);
+
+            // q8 포맷이면 int8 코드 그대로 메모리에 두고 1차 점수도 코드 위에서 계산
+            VectorIndex.Builder builder = VectorIndex.builder(isQuantizedFormat());
+            List<String> batch = new ArrayList<>(SCAN_COUNT);
+            for (String baseKey : baseKeys) {
+                batch.add(baseKey);
+                if (batch.size() == SCAN_COUNT) {
+                    loadBatch(batch, fullKeys, quantizedKeys, builder);
+                    batch.clear();
+                }
+            }
+            loadBatch(batch, fullKeys, quantizedKeys, builder);
+
+            VectorIndex loaded = builder.build();
+            search = useHnsw(loaded.size()) ? buildHnsw(loaded) : loaded;
+            quantizedIndex = loaded.isQuantized();
+            index = loaded;
+            log.info("Vector Index Loaded : {} vectors ({}, {})", loaded.size(),
+                    search instanceof HnswIndex ? "hnsw" : "exact", loaded.isQuantized() ? "q8" : "f32");
+            return loaded.size();
+        } finally {
+            indexLock.unlock();
+        }
     }
 
+    /**
+     * key 구조: prefix:termId:id:type (float32) / prefix:termId:id:type:q8 (int8)
+     * prefix 자리는 활성 네임스페이스 (예: term_v1728000000000)
+     */
+    private void scanVectorKeys(Set<String> fullKeys, Set<String> quantizedKeys) {
+        ScanParams params = new ScanParams().count(SCAN_COUNT);
+        Map<String, String> aliases = new HashMap<>();
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            ScanResult<String> scanResult = jedis.scan(cursor, params, "list");
+            for (String key : scanResult.getResult()) {
+                String[] parts = key.split(":");
+                if (parts.length < 4 || !isActiveNamespace(parts[0], aliases)) continue;
+                if (parts.length == 4) fullKeys.add(key);
+                else if (parts.length == 5 && Int8VectorCodec.FORMAT_TAG.equals(parts[4]))
+                    quantizedKeys.add(key.substring(0, key.length() - Int8VectorCodec.FORMAT_TAG.length() - 1));
+            }
+            cursor = scanResult.getCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+    }
 
-    public static double cosineSimilarity(float[] a, float[] b) {
-        double dotProduct = 0.0;
-        double normA = 0.0;
-        double normB = 0.0;
+    private void loadBatch(List<String> baseKeys, Set<String> fullKeys, Set<String> quantizedKeys, VectorIndex.Builder builder) {
+        if (baseKeys.isEmpty()) return;
 
-        for (int i = 0; i < a.length; i++) {
-            dotProduct += a[i] * b[i];
-            normA += a[i] * a[i];
-            normB += b[i] * b[i];
+        List<Boolean> quantizedFlags = new ArrayList<>(baseKeys.size());
+        List<Response<List<byte[]>>> responses = new ArrayList<>(baseKeys.size());
+        // key 마다 왕복하지 않도록 배치 단위로 파이프라인 조회
+        try (AbstractPipeline pipeline = jedis.pipelined()) {
+            for (String baseKey : baseKeys) {
+                boolean quantized = quantizedKeys.contains(baseKey) && (isQuantizedFormat() || !fullKeys.contains(baseKey));
+                quantizedFlags.add(quantized);
+                responses.add(pipeline.lrange((quantized ? quantizedKey(baseKey) : baseKey).getBytes(), 0, -1));
+            }
+            pipeline.sync();
         }
 
-        if (normA == 0.0 || normB == 0.0) {
-            return 0.0;
+        for (int i = 0; i < baseKeys.size(); i++) {
+            String[] parts = baseKeys.get(i).split(":");
+            String prefix = parts[0];
+            long termId, id;
+            String type = parts[3].toUpperCase(); // DTO에 표시할 type
+            try {
+                termId = Long.parseLong(parts[1]);
+                id = Long.parseLong(parts[2]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            // 모든 embedding 조회 (Q/A 구분 없이)
+            for (byte[] value : responses.get(i).get()) {
+                boolean added = quantizedFlags.get(i)
+                        ? builder.addQuantized(prefix, termId, id, type, value)
+                        : builder.add(prefix, termId, id, type, fromBytes(value));
+                if (!added) log.warn("Skip Vector With Unexpected Dimension : {}", baseKeys.get(i));
+            }
         }
+    }
+
+    private boolean useHnsw(int size) {
+        if ("hnsw".equalsIgnoreCase(searchMode)) return size > 0;
+        if ("exact".equalsIgnoreCase(searchMode)) return false;
+        return size >= hnswMinSize;
+    }
 
-        return dotProduct / (Math.sqrt(normA) * Math.sqrt(normB));
+    private HnswIndex buildHnsw(VectorIndex vectors) {
+        long start = System.currentTimeMillis();
+        HnswIndex hnsw = HnswIndex.build(vectors, hnswM, hnswEfConstruction, hnswEfSearch, 42L);
+        log.info("HNSW Graph Built : {} vectors, M={}, efConstruction={} ({}ms)",
+                vectors.size(), hnswM, hnswEfConstruction, System.currentTimeMillis() - start);
+        return hnsw;
     }
 
     /**
@@ -68,46 +334,166 @@ public class VectorRepository {
      * : Top K
      * @return
      * : 유사도가 높은 K 개의 id 를 반환
+     * 메모리 인덱스(f32 / q8 코드)에서만 계산한다 (Redis 호출 없음).
+     * q8 + keep-full-precision 이면 양자화 점수로 k * rescore-factor 개를 뽑은 뒤
+     * 후보의 원본 float32 만 파이프라인 한 번으로 읽어 재채점한다.
      */
     public List<SearchResultDto> searchAllPrefixes(float[] queryVector, int k) {
-        PriorityQueue<SearchResultDto> pq =
-                new PriorityQueue<>(Comparator.comparingDouble(SearchResultDto::getSimilarity));
+        // 질의는 요청당 한 번만 정규화
+        float[] query = VectorMath.normalize(queryVector);
+        if (!quantizedIndex || !keepFullPrecision) {
+            return search.search(query, k, MIN_SIMILARITY);
+        }
 
-        String cursor = "0";
-        do {
-            ScanResult<String> scanResult = jedis.scan(cursor);
-            for (String key : scanResult.getResult()) {
-                if (!"list".equalsIgnoreCase(jedis.type(key))) continue;
+        // 경계값 근처 후보가 양자화 오차로 빠지지 않도록 하한을 조금 낮춰서 1차 후보 선정
+        List<SearchResultDto> candidates = search.search(query, k * rescoreFactor, MIN_SIMILARITY - RESCORE_MARGIN);
+        return rescore(query, candidates, k);
+    }
 
-                // key 구조: prefix:termId:id:type
-                String[] parts = key.split(":");
-                if (parts.length < 4) continue; // type까지 포함
-                String prefix = parts[0];
-                Long termId, id;
-                String type = parts[3].toUpperCase(); // DTO에 표시할 type
-                try {
-                    termId = Long.parseLong(parts[1]);
-                    id = Long.parseLong(parts[2]);
-                } catch (NumberFormatException e) {
-                    continue;
+    private List<SearchResultDto> rescore(float[] query, List<SearchResultDto> candidates, int k) {
+        if (candidates.isEmpty()) return candidates;
+
+        Map<String, Response<List<byte[]>>> fullVectors = new LinkedHashMap<>();
+        try (AbstractPipeline pipeline = jedis.pipelined()) {
+            for (SearchResultDto candidate : candidates) {
+                String key = candidate.getPrefix() + ":" + candidate.getTermId() + ":" + candidate.getId() + ":" + candidate.getType();
+                fullVectors.computeIfAbsent(key, (target) -> pipeline.lrange(target.getBytes(), 0, -1));
+            }
+            pipeline.sync();
+        } catch (Exception e) {
+            log.warn("Rescore Vector Failed, Use Quantized Score : {}", e.getMessage());
+            return candidates.stream()
+                    .filter((candidate) -> candidate.getSimilarity() >= MIN_SIMILARITY)
+                    .limit(k)
+                    .toList();
+        }
+
+        List<SearchResultDto> rescored = new ArrayList<>(fullVectors.size());
+        for (SearchResultDto candidate : candidates) {
+            String key = candidate.getPrefix() + ":" + candidate.getTermId() + ":" + candidate.getId() + ":" + candidate.getType();
+            Response<List<byte[]>> response = fullVectors.remove(key);
+            if (response == null) continue;     // 같은 key 는 한 번만
+
+            double similarity = candidate.getSimilarity();
+            List<byte[]> values = response.get();
+            if (values != null && !values.isEmpty()) {
+                similarity = -1.0;
+                for (byte[] value : values) {
+                    similarity = Math.max(similarity, VectorMath.dot(query, VectorMath.normalize(fromBytes(value))));
                 }
-                // 모든 embedding 조회 (Q/A 구분 없이)
-                List<byte[]> allEmbeddings = jedis.lrange(key.getBytes(), 0, -1);
-                for (byte[] value : allEmbeddings) {
-                    float[] vec = fromBytes(value);
-                    double sim = cosineSimilarity(queryVector, vec);
-                    if(sim < 0.45) continue;
-                    pq.offer(new SearchResultDto(prefix, termId, id, type, sim));
-                    if (pq.size() > k) pq.poll();
+            }
+            if (similarity < MIN_SIMILARITY) continue;
+            rescored.add(new SearchResultDto(candidate.getPrefix(), candidate.getTermId(), candidate.getId(), candidate.getType(), similarity));
+        }
+        rescored.sort(Comparator.comparingDouble(SearchResultDto::getSimilarity).reversed());
+        return rescored.size() > k ? new ArrayList<>(rescored.subList(0, k)) : rescored;
+    }
+
+    /**
+     * 기존 float32 key(prefix:termId:id:type) 를 int8 포맷(:q8)으로 변환
+     * @param dropFullPrecision
+     * : true 면 변환 후 float32 key 삭제 (재채점 없이 양자화 점수만 사용하게 됨), null 이면 keep-full-precision 설정을 따름
+     * @return
+     * : 변환한 key 수
+     */
+    public int migrateToQuantized(Boolean dropFullPrecision) {
+        boolean drop = dropFullPrecision == null ? !keepFullPrecision : dropFullPrecision;
+        indexLock.lock();
+        try {
+            Set<String> fullKeys = new LinkedHashSet<>();
+            scanVectorKeys(fullKeys, new HashSet<>());
+
+            int migrated = 0;
+            for (String key : fullKeys) {
+                List<byte[]> values = jedis.lrange(key.getBytes(), 0, -1);
+                byte[] target = quantizedKey(key).getBytes();
+                try (AbstractPipeline pipeline = jedis.pipelined()) {
+                    pipeline.del(target);
+                    for (byte[] value : values) {
+                        pipeline.rpush(target, Int8VectorCodec.encode(VectorMath.normalize(fromBytes(value))));
+                    }
+                    if (drop) pipeline.del(key.getBytes());
+                    pipeline.sync();
                 }
+                migrated++;
             }
-            cursor = scanResult.getCursor();
-        } while (!"0".equals(cursor));
+            log.info("Vector Migration To q8 : {} keys (drop float32 : {})", migrated, drop);
+            reloadIndex();
+            return migrated;
+        } finally {
+            indexLock.unlock();
+        }
+    }
 
-        List<SearchResultDto> result = new ArrayList<>();
-        while (!pq.isEmpty()) {
-            result.add(0, pq.poll());
+    /**
+     * 정확 검색 대비 HNSW 의 recall / 지연 비교
+     * 저장된 벡터 중 samples 개를 질의로 사용하고, efSearch 를 바꿔가며 측정한다.
+     */
+    public AnnReportDto evaluateAnn(int samples, int k, List<Integer> efSearchList) {
+        VectorIndex exact = index;
+        if (exact.size() == 0) throw new IllegalStateException("Vector Index Is Empty");
+
+        // 운영 중인 그래프가 있으면 그대로 측정, 없으면 현재 설정으로 임시 생성
+        long buildStart = System.currentTimeMillis();
+        boolean active = search instanceof HnswIndex;
+        HnswIndex hnsw = active ? (HnswIndex) search : buildHnsw(exact);
+        long buildMillis = active ? 0L : System.currentTimeMillis() - buildStart;
+
+        int sampleCount = Math.min(samples, exact.size());
+        Random random = new Random(7L);
+        List<float[]> queries = new ArrayList<>(sampleCount);
+        for (int i = 0; i < sampleCount; i++) {
+            queries.add(exact.vectorAt(random.nextInt(exact.size())));
+        }
+
+        // 유사도 하한 없이 순수 Top K 로 비교
+        List<Set<String>> truth = new ArrayList<>(sampleCount);
+        long exactNanos = 0;
+        for (float[] query : queries) {
+            long start = System.nanoTime();
+            List<SearchResultDto> found = exact.search(query, k, -1.0);
+            exactNanos += System.nanoTime() - start;
+            truth.add(toRowKeys(found));
+        }
+
+        List<AnnReportDto.EfSearchResult> results = new ArrayList<>();
+        for (Integer ef : efSearchList) {
+            long annNanos = 0;
+            long hits = 0, total = 0;
+            for (int i = 0; i < sampleCount; i++) {
+                long start = System.nanoTime();
+                List<SearchResultDto> found = hnsw.search(queries.get(i), k, -1.0, ef);
+                annNanos += System.nanoTime() - start;
+
+                Set<String> expected = truth.get(i);
+                total += expected.size();
+                for (String key : toRowKeys(found)) {
+                    if (expected.contains(key)) hits++;
+                }
+            }
+            results.add(AnnReportDto.EfSearchResult.builder()
+                    .efSearch(ef)
+                    .recall(total == 0 ? 1.0 : (double) hits / total)
+                    .avgMicros(annNanos / 1000.0 / sampleCount)
+                    .build());
         }
-        return result;
+
+        return AnnReportDto.builder()
+                .activeMode(active ? "hnsw" : "exact")
+                .size(exact.size())
+                .m(hnsw.getM())
+                .efConstruction(hnswEfConstruction)
+                .buildMillis(buildMillis)
+                .samples(sampleCount)
+                .k(k)
+                .exactAvgMicros(exactNanos / 1000.0 / sampleCount)
+                .results(results)
+                .build();
+    }
+
+    private Set<String> toRowKeys(List<SearchResultDto> found) {
+        Set<String> keys = new HashSet<>();
+        found.forEach(result -> keys.add(result.getTermId() + ":" + result.getId() + ":" + result.getType()));
+        return keys;
     }
-}
\ No newline at end of file
+}
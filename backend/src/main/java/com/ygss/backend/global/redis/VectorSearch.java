@@ -0,0 +1,14 @@
+package com.ygss.backend.global.redis;
+
+import com.ygss.backend.chatbot.dto.SearchResultDto;
+
+import java.util.List;
+
+/**
+ * 임베딩 Top K 검색 방식 (정확 검색 / ANN)
+ * queryVector 는 VectorMath.normalize 로 정규화된 값이어야 한다.
+ */
+public interface VectorSearch {
+    List<SearchResultDto> search(float[] queryVector, int k, double minSimilarity);
+    int size();
+}
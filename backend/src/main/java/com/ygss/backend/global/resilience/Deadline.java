@@ -0,0 +1,49 @@
+package com.ygss.backend.global.resilience;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 요청 전체(end-to-end) 마감 시각
+ * Reactor Context 로 전달되어, 하위 외부 호출은 남은 시간 안에서만 기다린다.
+ */
+public final class Deadline {
+    private static final String CONTEXT_KEY = Deadline.class.getName();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * contextWrite 용, 구독 시점부터 budget 을 잰다. 바깥에서 이미 지정한 마감이 있으면 그대로 사용
+     */
+    public static Function<Context, Context> within(Duration budget) {
+        return (context) -> context.hasKey(CONTEXT_KEY) ? context : context.put(CONTEXT_KEY, after(budget));
+    }
+
+    public static Optional<Deadline> from(ContextView context) {
+        return context.getOrEmpty(CONTEXT_KEY);
+    }
+
+    public Function<Context, Context> attach() {
+        return (context) -> context.put(CONTEXT_KEY, this);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0L, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,139 @@
+package com.ygss.backend.global.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 외부 호출에 벌크헤드 / 서킷 브레이커 / 타임아웃을 한 번에 적용
+ * - 타임아웃 : 호출별 제한과 요청 Deadline 의 남은 시간 중 짧은 쪽
+ * - 서킷 브레이커 : 타임아웃, 오류를 실패로 집계 (open 이면 CallNotPermittedException)
+ * - 벌크헤드 : 가장 바깥, 동시 호출 수를 넘으면 BulkheadFullException (브레이커 실패로 세지 않음)
+ * fallback 은 호출하는 쪽에서 onErrorResume 으로 지정 (블로킹 호출은 call 의 예외를 처리)
+ */
+@Component
+public class ExternalCallGuard {
+    public static final String FASTAPI = "fastapi";
+    public static final String GMS = "gms";
+
+    private final Map<String, Policy> policies;
+    // 블로킹 호출을 제한 시간까지만 기다리기 위한 실행기 (동시 실행 수는 벌크헤드가 제한)
+    private final SimpleAsyncTaskExecutor callExecutor;
+
+    public ExternalCallGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+                             BulkheadRegistry bulkheadRegistry,
+                             @Value("${resilience.fastapi.max-concurrent-calls:32}") int fastApiMaxConcurrentCalls,
+                             @Value("${resilience.fastapi.timeout-millis:5000}") long fastApiTimeoutMillis,
+                             @Value("${resilience.gms.max-concurrent-calls:64}") int gmsMaxConcurrentCalls,
+                             @Value("${resilience.gms.timeout-millis:20000}") long gmsTimeoutMillis,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.policies = Map.of(
+                FASTAPI, policy(FASTAPI, circuitBreakerRegistry, bulkheadRegistry, fastApiMaxConcurrentCalls, fastApiTimeoutMillis),
+                GMS, policy(GMS, circuitBreakerRegistry, bulkheadRegistry, gmsMaxConcurrentCalls, gmsTimeoutMillis)
+        );
+        this.callExecutor = new SimpleAsyncTaskExecutor("external-call-");
+        this.callExecutor.setVirtualThreads(virtualThreads && Runtime.version().feature() >= 21);
+        this.callExecutor.setDaemon(true);
+    }
+
+    private static Policy policy(String name, CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                                 int maxConcurrentCalls, long timeoutMillis) {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(name, BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        return new Policy(circuitBreakerRegistry.circuitBreaker(name), bulkhead, Duration.ofMillis(timeoutMillis));
+    }
+
+    public <T> Mono<T> mono(String dependency, Mono<T> source) {
+        Policy policy = policies.get(dependency);
+        return Mono.deferContextual((context) -> {
+            Duration timeout = timeout(Deadline.from(context), policy.timeout());
+            if (timeout.isZero()) return Mono.error(new TimeoutException("Deadline Exceeded : " + dependency));
+            return source.timeout(timeout)
+                    .transformDeferred(CircuitBreakerOperator.of(policy.circuitBreaker()))
+                    .transformDeferred(BulkheadOperator.of(policy.bulkhead()));
+        });
+    }
+
+    /**
+     * 스트리밍 응답은 첫 조각까지를 Deadline 안으로 제한하고, 이후에는 조각 사이 간격만 호출별 제한으로 본다
+     */
+    public <T> Flux<T> flux(String dependency, Flux<T> source) {
+        Policy policy = policies.get(dependency);
+        return Flux.deferContextual((context) -> {
+            Duration firstTimeout = timeout(Deadline.from(context), policy.timeout());
+            if (firstTimeout.isZero()) return Flux.error(new TimeoutException("Deadline Exceeded : " + dependency));
+            return source.timeout(Mono.delay(firstTimeout), (item) -> Mono.delay(policy.timeout()))
+                    .transformDeferred(CircuitBreakerOperator.of(policy.circuitBreaker()))
+                    .transformDeferred(BulkheadOperator.of(policy.bulkhead()));
+        });
+    }
+
+    /**
+     * RestClient 등 블로킹 호출용, mono 와 같은 순서로 벌크헤드 / 서킷 브레이커 / 타임아웃 적용
+     * 호출은 별도 스레드에서 실행하고 제한 시간이 지나면 취소(interrupt) 후 TimeoutException
+     */
+    public <T> T call(String dependency, Callable<T> callable) throws Exception {
+        return call(dependency, null, callable);
+    }
+
+    /**
+     * @param deadline
+     * : 요청 전체 마감 (null 이면 호출별 제한만 적용)
+     */
+    public <T> T call(String dependency, Deadline deadline, Callable<T> callable) throws Exception {
+        Policy policy = policies.get(dependency);
+        Duration timeout = timeout(Optional.ofNullable(deadline), policy.timeout());
+        if (timeout.isZero()) throw new TimeoutException("Deadline Exceeded : " + dependency);
+
+        Callable<T> limited = () -> awaitWithin(dependency, timeout, callable);
+        return Bulkhead.decorateCallable(policy.bulkhead(),
+                CircuitBreaker.decorateCallable(policy.circuitBreaker(), limited)).call();
+    }
+
+    private <T> T awaitWithin(String dependency, Duration timeout, Callable<T> callable) throws Exception {
+        Future<T> future = callExecutor.submit(callable);
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new TimeoutException("Call Timed Out : " + dependency + " (" + timeout.toMillis() + "ms)");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private Duration timeout(Optional<Deadline> deadline, Duration callTimeout) {
+        return deadline
+                .map(Deadline::remaining)
+                .filter((remaining) -> remaining.compareTo(callTimeout) < 0)
+                .orElse(callTimeout);
+    }
+
+    private record Policy(CircuitBreaker circuitBreaker, Bulkhead bulkhead, Duration timeout) {
+    }
+}
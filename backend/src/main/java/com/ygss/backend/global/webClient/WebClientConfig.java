@@ -0,0 +1,32 @@
+package com.ygss.backend.global.webClient;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+
+    /**
+     * GMS / FastAPI 호출이 함께 쓰는 Reactor Netty 커넥션 풀
+     * 커넥션을 재사용하고, 풀이 가득 차면 스레드를 막지 않고 대기열에서 순서를 기다린다.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider externalApiConnectionProvider(
+            @Value("${webclient.pool.max-connections:200}") int maxConnections,
+            @Value("${webclient.pool.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+            @Value("${webclient.pool.pending-acquire-timeout-millis:5000}") long pendingAcquireTimeoutMillis,
+            @Value("${webclient.pool.max-idle-seconds:30}") long maxIdleSeconds) {
+        return ConnectionProvider.builder("external-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))   // 서버가 먼저 끊은 유휴 커넥션 재사용 방지
+                .evictInBackground(Duration.ofSeconds(60))
+                .metrics(true)
+                .build();
+    }
+}
@@ -7,9 +7,11 @@ import com.ygss.backend.pensionProduct.dto.request.UpdateProfitRequest;
 import com.ygss.backend.pensionProduct.dto.response.*;
 import com.ygss.backend.pensionProduct.dto.request.SearchCondition;
 import com.ygss.backend.pensionProduct.repository.PensionProductRepository;
+import com.ygss.backend.recommend.event.ProductProfitUpdatedEvent;
 import com.ygss.backend.user.repository.UserAccountsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
@@ -29,6 +31,7 @@ public class PensionProductServiceImpl implements PensionProductService {
 
     private final PensionProductRepository pensionProductRepository;
     private final UserAccountsRepository usersAccountsRepository;
+    private final ApplicationEventPublisher eventPublisher;
     /**
      * 동적 조건으로 상품 검색
      */
@@ -233,6 +236,8 @@ public class PensionProductServiceImpl implements PensionProductService {
             throw new RuntimeException("Invalid ID found");
         }
 
+        // 추천 포트폴리오 스냅샷 재계산 (커밋 후)
+        eventPublisher.publishEvent(new ProductProfitUpdatedEvent(updatedCount));
         return true;
     }
 }
@@ -78,6 +78,27 @@ public class ProductController {
         }
     }
 
+    @GetMapping("/dc/{retirePensionProductId}/statistics")
+    public ResponseEntity<?> loadRetirePensionReturnStatistics(@PathVariable Long retirePensionProductId) {
+        try {
+            return ResponseEntity.ok(productService.selectRetirePensionReturnStatistics(retirePensionProductId));
+        } catch (Exception e) {
+            log.error("Load Retire Pension Return Statistics Failed : {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(false);
+        }
+    }
+
+    @GetMapping("/dc/{retirePensionProductId}/correlation/{otherRetirePensionProductId}")
+    public ResponseEntity<?> loadRetirePensionCorrelation(@PathVariable Long retirePensionProductId,
+                                                          @PathVariable Long otherRetirePensionProductId) {
+        try {
+            return ResponseEntity.ok(productService.selectRetirePensionCorrelation(retirePensionProductId, otherRetirePensionProductId));
+        } catch (Exception e) {
+            log.error("Load Retire Pension Correlation Failed : {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(false);
+        }
+    }
+
     @GetMapping("/dc/bond")
     public ResponseEntity<?> loadbondProduct(ProductListRequestDto request) {
         try {
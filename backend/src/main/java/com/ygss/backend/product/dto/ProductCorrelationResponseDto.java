@@ -0,0 +1,14 @@
+package com.ygss.backend.product.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ProductCorrelationResponseDto {
+    private Long productId;
+    private Long otherProductId;
+    // 두 상품 모두 수익률이 있는 일수
+    private Long observations;
+    private Double correlation;
+}
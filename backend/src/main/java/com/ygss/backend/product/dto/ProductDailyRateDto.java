@@ -0,0 +1,12 @@
+package com.ygss.backend.product.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class ProductDailyRateDto {
+    private Long productId;
+    private LocalDate date;
+    private Double dailyRate;
+}
@@ -0,0 +1,22 @@
+package com.ygss.backend.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * retire_pension_product_return_comoment 행 (productAId < productBId, 두 상품 공통 관측일 기준)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductReturnCoMomentDto {
+    private Long productAId;
+    private Long productBId;
+    private Long observations;
+    private Double meanA;
+    private Double meanB;
+    private Double m2A;
+    private Double m2B;
+    private Double comoment;
+}
@@ -0,0 +1,21 @@
+package com.ygss.backend.product.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class ProductReturnStatisticsResponseDto {
+    private Long productId;
+    // 반영한 일수, 마지막 반영일
+    private Long observations;
+    private LocalDate lastDate;
+    // 연율화 평균 수익률(%), 연율화 변동성(%)
+    private Double annualReturn;
+    private Double volatility;
+    private Double sharpeRatio;
+    // 최대 낙폭(%)
+    private Double maxDrawdown;
+}
@@ -0,0 +1,24 @@
+package com.ygss.backend.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * retire_pension_product_return_stats 행 (수익률은 소수 단위)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductReturnStatsDto {
+    private Long productId;
+    private Long observations;
+    private Double mean;
+    private Double m2;
+    private Double wealth;
+    private Double peak;
+    private Double maxDrawdown;
+    private LocalDate lastDate;
+}
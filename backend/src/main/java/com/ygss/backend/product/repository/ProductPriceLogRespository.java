@@ -1,9 +1,12 @@
 package com.ygss.backend.product.repository;
 
+import com.ygss.backend.product.dto.ProductDailyRateDto;
 import com.ygss.backend.product.dto.ProductPriceLogDto;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Mapper
@@ -13,4 +16,39 @@ public interface ProductPriceLogRespository {
             WHERE retire_pension_product_id = ${retirePensionProductId};
             """)
     List<ProductPriceLogDto> selectProductPriceLogById(Long retirePensionProductId);
+
+    @Select("""
+            SELECT MAX(`date`) FROM retire_pension_product_price_log;
+            """)
+    LocalDate selectLatestDate();
+
+    @Select("""
+            SELECT
+            retire_pension_product_id AS 'productId',
+            `date` AS 'date',
+            daily_rate AS 'dailyRate'
+            FROM retire_pension_product_price_log
+            WHERE `date` >= #{from}
+            ORDER BY `date`;
+            """)
+    List<ProductDailyRateDto> selectDailyRatesSince(LocalDate from);
+
+    @Select("""
+            SELECT MIN(`date`) FROM retire_pension_product_price_log;
+            """)
+    LocalDate selectEarliestDate();
+
+    /**
+     * (after, until] 구간만 날짜순 조회 (idx_price_log_date 범위 조회)
+     */
+    @Select("""
+            SELECT
+            retire_pension_product_id AS 'productId',
+            `date` AS 'date',
+            daily_rate AS 'dailyRate'
+            FROM retire_pension_product_price_log
+            WHERE `date` > #{after} AND `date` <= #{until}
+            ORDER BY `date`, retire_pension_product_id;
+            """)
+    List<ProductDailyRateDto> selectDailyRatesBetween(@Param("after") LocalDate after, @Param("until") LocalDate until);
 }
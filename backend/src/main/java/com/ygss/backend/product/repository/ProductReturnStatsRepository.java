@@ -0,0 +1,86 @@
+package com.ygss.backend.product.repository;
+
+import com.ygss.backend.product.dto.ProductReturnCoMomentDto;
+import com.ygss.backend.product.dto.ProductReturnStatsDto;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Mapper
+public interface ProductReturnStatsRepository {
+    @Select("""
+            SELECT
+            retire_pension_product_id AS 'productId',
+            observations, mean, m2, wealth, peak,
+            max_drawdown AS 'maxDrawdown',
+            last_date AS 'lastDate'
+            FROM retire_pension_product_return_stats;
+            """)
+    List<ProductReturnStatsDto> selectAllStats();
+
+    @Select("""
+            SELECT
+            product_a_id AS 'productAId',
+            product_b_id AS 'productBId',
+            observations,
+            mean_a AS 'meanA',
+            mean_b AS 'meanB',
+            m2_a AS 'm2A',
+            m2_b AS 'm2B',
+            comoment
+            FROM retire_pension_product_return_comoment;
+            """)
+    List<ProductReturnCoMomentDto> selectAllCoMoments();
+
+    @Insert({
+            "<script>",
+            "INSERT INTO retire_pension_product_return_stats",
+            "(retire_pension_product_id, observations, mean, m2, wealth, peak, max_drawdown, last_date) VALUES",
+            "<foreach collection='stats' item='stat' separator=','>",
+            "    (#{stat.productId}, #{stat.observations}, #{stat.mean}, #{stat.m2}, #{stat.wealth}, #{stat.peak}, #{stat.maxDrawdown}, #{stat.lastDate})",
+            "</foreach>",
+            "ON DUPLICATE KEY UPDATE ",
+            "observations = VALUES(observations), ",
+            "mean = VALUES(mean), ",
+            "m2 = VALUES(m2), ",
+            "wealth = VALUES(wealth), ",
+            "peak = VALUES(peak), ",
+            "max_drawdown = VALUES(max_drawdown), ",
+            "last_date = VALUES(last_date)",
+            "</script>"
+    })
+    Integer upsertStats(@Param("stats") List<ProductReturnStatsDto> stats);
+
+    @Insert({
+            "<script>",
+            "INSERT INTO retire_pension_product_return_comoment",
+            "(product_a_id, product_b_id, observations, mean_a, mean_b, m2_a, m2_b, comoment) VALUES",
+            "<foreach collection='coMoments' item='coMoment' separator=','>",
+            "    (#{coMoment.productAId}, #{coMoment.productBId}, #{coMoment.observations}, #{coMoment.meanA}, #{coMoment.meanB}, #{coMoment.m2A}, #{coMoment.m2B}, #{coMoment.comoment})",
+            "</foreach>",
+            "ON DUPLICATE KEY UPDATE ",
+            "observations = VALUES(observations), ",
+            "mean_a = VALUES(mean_a), ",
+            "mean_b = VALUES(mean_b), ",
+            "m2_a = VALUES(m2_a), ",
+            "m2_b = VALUES(m2_b), ",
+            "comoment = VALUES(comoment)",
+            "</script>"
+    })
+    Integer upsertCoMoments(@Param("coMoments") List<ProductReturnCoMomentDto> coMoments);
+
+    @Select("""
+            SELECT last_date FROM retire_pension_product_return_watermark WHERE id = 1;
+            """)
+    LocalDate selectWatermark();
+
+    @Insert("""
+            INSERT INTO retire_pension_product_return_watermark (id, last_date) VALUES (1, #{lastDate})
+            ON DUPLICATE KEY UPDATE last_date = VALUES(last_date);
+            """)
+    Integer upsertWatermark(@Param("lastDate") LocalDate lastDate);
+}
@@ -37,6 +37,16 @@ public interface ProductService {
      */
     public List<ProductPriceLogDto> selectRetirePensionDetailPriceLog(Long retirePensionProductId);
 
+    /**
+     * ETF/펀드 수익률 통계 (연율화 수익률, 변동성, Sharpe, 최대 낙폭)
+     */
+    ProductReturnStatisticsResponseDto selectRetirePensionReturnStatistics(Long retirePensionProductId);
+
+    /**
+     * ETF/펀드 두 상품의 수익률 상관계수
+     */
+    ProductCorrelationResponseDto selectRetirePensionCorrelation(Long retirePensionProductId, Long otherRetirePensionProductId);
+
     /**
      * BOND
      */
@@ -7,6 +7,7 @@ import com.ygss.backend.product.repository.ProductDetailRepository;
 import com.ygss.backend.product.repository.ProductInvestStrategyRepository;
 import com.ygss.backend.product.repository.ProductPriceLogRespository;
 import com.ygss.backend.product.repository.RetirePensionProductRepository;
+import com.ygss.backend.product.statistics.ReturnStatisticsEngine;
 import com.ygss.backend.user.repository.UserAccountsRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,7 @@ public class ProductServiceImpl implements ProductService {
     private final ProductDetailRepository productDetailRepository;
     private final UserAccountsRepository userAccountsRepository;
     private final PensionProductRepository pensionProductRepository;
+    private final ReturnStatisticsEngine returnStatisticsEngine;
     @Override
     public List<RetirePensionProductResponseDto> selectAllDcProduct(ProductListRequestDto request) {
         return retirePensionProductRepository.selectAllDcProduct(request.sortToString());
@@ -61,6 +63,18 @@ public class ProductServiceImpl implements ProductService {
         return productPriceLogRespository.selectProductPriceLogById(retirePensionProductId);
     }
 
+    @Override
+    public ProductReturnStatisticsResponseDto selectRetirePensionReturnStatistics(Long retirePensionProductId) {
+        return returnStatisticsEngine.getStatistics(retirePensionProductId)
+                .orElseThrow(() -> new IllegalArgumentException("Not Found Return Statistics"));
+    }
+
+    @Override
+    public ProductCorrelationResponseDto selectRetirePensionCorrelation(Long retirePensionProductId, Long otherRetirePensionProductId) {
+        return returnStatisticsEngine.getCorrelation(retirePensionProductId, otherRetirePensionProductId)
+                .orElseThrow(() -> new IllegalArgumentException("Not Found Return Correlation"));
+    }
+
     /**
      * BOND 전체 리스트 조회
      */
@@ -0,0 +1,65 @@
+package com.ygss.backend.product.statistics;
+
+import com.ygss.backend.product.dto.ProductReturnCoMomentDto;
+
+/**
+ * 상품 쌍 (a < b) 의 공통 관측일 누적 통계 (Welford 공분산)
+ * 상관계수가 같은 날짜 집합 위에서 계산되도록 쌍마다 평균 / 편차 제곱합을 따로 유지
+ */
+final class CoMoments {
+    private long observations;
+    private double meanA;
+    private double meanB;
+    private double m2A;
+    private double m2B;
+    private double comoment;
+
+    static CoMoments from(ProductReturnCoMomentDto dto) {
+        CoMoments moments = new CoMoments();
+        moments.observations = dto.getObservations();
+        moments.meanA = dto.getMeanA();
+        moments.meanB = dto.getMeanB();
+        moments.m2A = dto.getM2A();
+        moments.m2B = dto.getM2B();
+        moments.comoment = dto.getComoment();
+        return moments;
+    }
+
+    ProductReturnCoMomentDto toDto(Long productAId, Long productBId) {
+        return new ProductReturnCoMomentDto(productAId, productBId, observations, meanA, meanB, m2A, m2B, comoment);
+    }
+
+    CoMoments copy() {
+        CoMoments copy = new CoMoments();
+        copy.observations = observations;
+        copy.meanA = meanA;
+        copy.meanB = meanB;
+        copy.m2A = m2A;
+        copy.m2B = m2B;
+        copy.comoment = comoment;
+        return copy;
+    }
+
+    void add(double rateA, double rateB) {
+        observations++;
+        double deltaA = rateA - meanA;
+        double deltaB = rateB - meanB;
+        meanA += deltaA / observations;
+        meanB += deltaB / observations;
+        m2A += deltaA * (rateA - meanA);
+        m2B += deltaB * (rateB - meanB);
+        comoment += deltaA * (rateB - meanB);
+    }
+
+    long observations() {
+        return observations;
+    }
+
+    /**
+     * 상관계수, 어느 한쪽 분산이 0 이면 NaN
+     */
+    double correlation() {
+        double denominator = Math.sqrt(m2A * m2B);
+        return observations > 1 && denominator > 0.0 ? comoment / denominator : Double.NaN;
+    }
+}
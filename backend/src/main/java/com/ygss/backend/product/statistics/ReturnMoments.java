@@ -0,0 +1,93 @@
+package com.ygss.backend.product.statistics;
+
+import com.ygss.backend.product.dto.ProductReturnStatsDto;
+
+import java.time.LocalDate;
+
+/**
+ * 상품 하나의 일간 수익률 누적 통계 (Welford)
+ * 평균 / 편차 제곱합과 누적 가치 지수 기반 최대 낙폭을 한 행씩 갱신
+ */
+final class ReturnMoments {
+    private long observations;
+    private double mean;
+    private double m2;
+    private double wealth = 1.0;
+    private double peak = 1.0;
+    private double maxDrawdown;
+    private LocalDate lastDate;
+
+    static ReturnMoments from(ProductReturnStatsDto dto) {
+        ReturnMoments moments = new ReturnMoments();
+        moments.observations = dto.getObservations();
+        moments.mean = dto.getMean();
+        moments.m2 = dto.getM2();
+        moments.wealth = dto.getWealth();
+        moments.peak = dto.getPeak();
+        moments.maxDrawdown = dto.getMaxDrawdown();
+        moments.lastDate = dto.getLastDate();
+        return moments;
+    }
+
+    ProductReturnStatsDto toDto(Long productId) {
+        return new ProductReturnStatsDto(productId, observations, mean, m2, wealth, peak, maxDrawdown, lastDate);
+    }
+
+    ReturnMoments copy() {
+        ReturnMoments copy = new ReturnMoments();
+        copy.observations = observations;
+        copy.mean = mean;
+        copy.m2 = m2;
+        copy.wealth = wealth;
+        copy.peak = peak;
+        copy.maxDrawdown = maxDrawdown;
+        copy.lastDate = lastDate;
+        return copy;
+    }
+
+    /**
+     * @param rate
+     * : 일간 수익률 (소수)
+     */
+    void add(double rate, LocalDate date) {
+        observations++;
+        double delta = rate - mean;
+        mean += delta / observations;
+        m2 += delta * (rate - mean);
+
+        wealth *= 1.0 + rate;
+        peak = Math.max(peak, wealth);
+        maxDrawdown = Math.max(maxDrawdown, 1.0 - wealth / peak);
+        lastDate = date;
+    }
+
+    /**
+     * 이미 반영한 날짜인지 (같은 행을 두 번 누적하지 않도록)
+     */
+    boolean covers(LocalDate date) {
+        return lastDate != null && !date.isAfter(lastDate);
+    }
+
+    long observations() {
+        return observations;
+    }
+
+    double mean() {
+        return mean;
+    }
+
+    /**
+     * 표본 분산, 관측이 2개 미만이면 NaN
+     */
+    double variance() {
+        return observations > 1 ? m2 / (observations - 1) : Double.NaN;
+    }
+
+    double maxDrawdown() {
+        return maxDrawdown;
+    }
+
+    LocalDate lastDate() {
+        return lastDate;
+    }
+}
@@ -0,0 +1,340 @@
+package com.ygss.backend.product.statistics;
+
+import com.ygss.backend.product.dto.ProductCorrelationResponseDto;
+import com.ygss.backend.product.dto.ProductDailyRateDto;
+import com.ygss.backend.product.dto.ProductReturnCoMomentDto;
+import com.ygss.backend.product.dto.ProductReturnStatisticsResponseDto;
+import com.ygss.backend.product.dto.ProductReturnStatsDto;
+import com.ygss.backend.product.repository.ProductPriceLogRespository;
+import com.ygss.backend.product.repository.ProductReturnStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * retire_pension_product_price_log.daily_rate 누적 통계 엔진
+ * 상품별 평균 / 분산 / 최대 낙폭과 상품 쌍 공분산을 Welford 방식으로 유지하고, 새로 들어온 날짜의 행만 반영한다.
+ * - 상태는 retire_pension_product_return_stats / _comoment 에 저장, 기동 시 읽어 이어서 갱신
+ * - 시작점은 저장된 수집 기준일(watermark) - late-days, 그 이후 날짜만 chunk-days 단위로 조회 (idx_price_log_date 범위 조회, 전체 스캔 없음)
+ *   상품별 last_date 에 묶이지 않으므로 상장 폐지 등으로 멈춘 상품이 있어도 조회 구간이 늘어나지 않음
+ * - late-days 안에 늦게 수집된 행도 반영하고, 이미 반영한 상품 / 날짜의 행은 covers 로 건너뜀
+ *   늦게 들어온 행은 같은 날짜에 이미 반영된 다른 상품의 수익률과도 쌍 통계를 갱신 (처음부터 누적한 결과와 같음)
+ *   late-days 보다 더 늦게 들어온 행은 반영하지 않음
+ * - 기동 시 / update-cron 에 갱신
+ * - 조회는 메모리 상태만 읽음 (갱신은 복사본에 반영 후 저장이 끝나면 참조 교체)
+ */
+@Slf4j
+@Component
+public class ReturnStatisticsEngine {
+    private static final int TRADING_DAYS = 252;
+
+    private final ProductPriceLogRespository productPriceLogRespository;
+    private final ProductReturnStatsRepository productReturnStatsRepository;
+    private final ReturnStatisticsStore returnStatisticsStore;
+    private final double dailyRateScale;
+    private final double riskFreeRate;
+    private final int chunkDays;
+    private final int lateDays;
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile State state = State.EMPTY;
+    // 저장된 상태를 읽기 전에는 갱신하지 않음 (처음부터 다시 누적해 덮어쓰지 않도록)
+    private volatile boolean loaded;
+
+    public ReturnStatisticsEngine(ProductPriceLogRespository productPriceLogRespository,
+                                  ProductReturnStatsRepository productReturnStatsRepository,
+                                  ReturnStatisticsStore returnStatisticsStore,
+                                  @Value("${product.statistics.daily-rate-scale:0.01}") double dailyRateScale,
+                                  @Value("${product.statistics.risk-free-rate:0.0}") double riskFreeRate,
+                                  @Value("${product.statistics.chunk-days:90}") int chunkDays,
+                                  @Value("${product.statistics.late-days:14}") int lateDays) {
+        this.productPriceLogRespository = productPriceLogRespository;
+        this.productReturnStatsRepository = productReturnStatsRepository;
+        this.returnStatisticsStore = returnStatisticsStore;
+        this.dailyRateScale = dailyRateScale;
+        this.riskFreeRate = riskFreeRate;
+        this.chunkDays = Math.max(1, chunkDays);
+        this.lateDays = Math.max(0, lateDays);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            update();
+        } catch (Exception e) {
+            // 통계 조회만 비어 있을 뿐 다른 기능에는 영향 없으므로 기동은 계속
+            log.warn("Return Statistics Load Failed : {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${product.statistics.update-cron:0 0 6 * * *}")
+    public void scheduledUpdate() {
+        try {
+            update();
+        } catch (Exception e) {
+            log.error("Return Statistics Update Failed : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 수집 기준일 - late-days 이후의 행 중 아직 반영하지 않은 행을 누적
+     * @return
+     * : 새로 반영한 날짜 수
+     */
+    public int update() {
+        updateLock.lock();
+        try {
+            if (!loaded) {
+                state = State.of(productReturnStatsRepository.selectAllStats(), productReturnStatsRepository.selectAllCoMoments(),
+                        productReturnStatsRepository.selectWatermark());
+                loaded = true;
+                log.info("Return Statistics Loaded : {} products, {} pairs", state.moments.size(), state.coMoments.size());
+            }
+
+            LocalDate latest = productPriceLogRespository.selectLatestDate();
+            if (latest == null) return 0;
+            LocalDate watermark = state.watermark;
+            LocalDate after = watermark == null
+                    ? productPriceLogRespository.selectEarliestDate().minusDays(1)
+                    : watermark.minusDays(lateDays);
+
+            int days = 0;
+            while (after.isBefore(latest)) {
+                LocalDate until = after.plusDays(chunkDays);
+                if (until.isAfter(latest)) until = latest;
+
+                List<ProductDailyRateDto> rows = productPriceLogRespository.selectDailyRatesBetween(after, until);
+                // look-back 구간을 다시 읽는 동안에는 기준일을 되돌리지 않음
+                boolean advances = watermark == null || until.isAfter(watermark);
+                if (!rows.isEmpty() || advances) {
+                    State next = state.copy();
+                    Changes changes = new Changes();
+                    days += next.apply(rows, dailyRateScale, changes);
+                    if (advances) next.watermark = until;
+                    if (advances || !changes.isEmpty()) {
+                        returnStatisticsStore.save(changes.stats(next), changes.coMoments(next), next.watermark);
+                        state = next;
+                    }
+                }
+                after = until;
+            }
+            if (days > 0) {
+                log.info("Return Statistics Updated : {} days, {} products, {} pairs", days, state.moments.size(), state.coMoments.size());
+            }
+            return days;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 연율화 평균 수익률 / 변동성, Sharpe, 최대 낙폭 (% 단위, Sharpe 는 risk-free-rate 차감)
+     */
+    public Optional<ProductReturnStatisticsResponseDto> getStatistics(Long productId) {
+        ReturnMoments moments = state.moments.get(productId);
+        if (moments == null) return Optional.empty();
+
+        double annualReturn = moments.mean() * TRADING_DAYS;
+        double volatility = Math.sqrt(moments.variance() * TRADING_DAYS);
+        boolean hasVolatility = !Double.isNaN(volatility);
+        return Optional.of(ProductReturnStatisticsResponseDto.builder()
+                .productId(productId)
+                .observations(moments.observations())
+                .lastDate(moments.lastDate())
+                .annualReturn(annualReturn * 100.0)
+                .volatility(hasVolatility ? volatility * 100.0 : null)
+                .sharpeRatio(hasVolatility && volatility > 0.0 ? (annualReturn - riskFreeRate) / volatility : null)
+                .maxDrawdown(moments.maxDrawdown() * 100.0)
+                .build());
+    }
+
+    /**
+     * 두 상품 모두 수익률이 있는 날짜들 위의 상관계수
+     */
+    public Optional<ProductCorrelationResponseDto> getCorrelation(Long productId, Long otherProductId) {
+        if (productId.equals(otherProductId)) {
+            ReturnMoments moments = state.moments.get(productId);
+            if (moments == null) return Optional.empty();
+            return Optional.of(ProductCorrelationResponseDto.builder()
+                    .productId(productId)
+                    .otherProductId(otherProductId)
+                    .observations(moments.observations())
+                    .correlation(1.0)
+                    .build());
+        }
+
+        CoMoments coMoments = state.coMoments.get(ProductPair.of(productId, otherProductId));
+        if (coMoments == null) return Optional.empty();
+        double correlation = coMoments.correlation();
+        return Optional.of(ProductCorrelationResponseDto.builder()
+                .productId(productId)
+                .otherProductId(otherProductId)
+                .observations(coMoments.observations())
+                .correlation(Double.isNaN(correlation) ? null : correlation)
+                .build());
+    }
+
+    /**
+     * 상품 쌍 키 (a < b)
+     */
+    private record ProductPair(long a, long b) {
+        static ProductPair of(long x, long y) {
+            return x < y ? new ProductPair(x, y) : new ProductPair(y, x);
+        }
+    }
+
+    private static final class State {
+        static final State EMPTY = new State(Map.of(), Map.of(), null);
+
+        final Map<Long, ReturnMoments> moments;
+        final Map<ProductPair, CoMoments> coMoments;
+        // 조회를 마친 마지막 price_log 날짜 (다음 갱신은 여기서 late-days 만큼 되돌아가 시작)
+        LocalDate watermark;
+
+        State(Map<Long, ReturnMoments> moments, Map<ProductPair, CoMoments> coMoments, LocalDate watermark) {
+            this.moments = moments;
+            this.coMoments = coMoments;
+            this.watermark = watermark;
+        }
+
+        /**
+         * @param watermark
+         * : 저장된 수집 기준일, 없으면 (기준일 도입 전 상태) 상품별 last_date 의 최댓값
+         */
+        static State of(List<ProductReturnStatsDto> stats, List<ProductReturnCoMomentDto> pairs, LocalDate watermark) {
+            Map<Long, ReturnMoments> moments = new HashMap<>(stats.size() * 2);
+            stats.forEach(dto -> moments.put(dto.getProductId(), ReturnMoments.from(dto)));
+            Map<ProductPair, CoMoments> coMoments = new HashMap<>(pairs.size() * 2);
+            pairs.forEach(dto -> coMoments.put(ProductPair.of(dto.getProductAId(), dto.getProductBId()), CoMoments.from(dto)));
+            if (watermark == null) {
+                for (ReturnMoments value : moments.values()) {
+                    if (watermark == null || value.lastDate().isAfter(watermark)) watermark = value.lastDate();
+                }
+            }
+            return new State(moments, coMoments, watermark);
+        }
+
+        State copy() {
+            Map<Long, ReturnMoments> moments = new HashMap<>(this.moments.size() * 2);
+            this.moments.forEach((productId, value) -> moments.put(productId, value.copy()));
+            Map<ProductPair, CoMoments> coMoments = new HashMap<>(this.coMoments.size() * 2);
+            this.coMoments.forEach((pair, value) -> coMoments.put(pair, value.copy()));
+            return new State(moments, coMoments, watermark);
+        }
+
+        /**
+         * 날짜순 행을 하루 단위로 누적
+         * - 아직 반영하지 않은 행만 상품 통계에 누적
+         * - 쌍 통계는 둘 중 하나라도 새로 반영한 행이면 갱신 (이미 반영된 상품은 같은 날짜 행의 수익률 사용)
+         * @return
+         * : 새로 반영한 행이 있는 날짜 수
+         */
+        int apply(List<ProductDailyRateDto> rows, double dailyRateScale, Changes changes) {
+            int days = 0;
+            Day day = new Day();
+            for (ProductDailyRateDto row : rows) {
+                if (!row.getDate().equals(day.date)) {
+                    if (applyDay(day, changes)) days++;
+                    day.reset(row.getDate());
+                }
+                if (row.getDailyRate() == null) continue;
+                double rate = row.getDailyRate() * dailyRateScale;
+                ReturnMoments existing = moments.get(row.getProductId());
+                if (existing != null && existing.covers(day.date)) {
+                    day.storedIds.add(row.getProductId());
+                    day.storedRates.add(rate);
+                } else {
+                    day.newIds.add(row.getProductId());
+                    day.newRates.add(rate);
+                }
+            }
+            if (applyDay(day, changes)) days++;
+            return days;
+        }
+
+        private boolean applyDay(Day day, Changes changes) {
+            if (day.newIds.isEmpty()) return false;
+            int n = day.newIds.size();
+            for (int i = 0; i < n; i++) {
+                Long productId = day.newIds.get(i);
+                moments.computeIfAbsent(productId, id -> new ReturnMoments()).add(day.newRates.get(i), day.date);
+                changes.productIds.add(productId);
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    addPair(day.newIds.get(i), day.newRates.get(i), day.newIds.get(j), day.newRates.get(j), changes);
+                }
+                // 늦게 들어온 행 : 같은 날짜를 먼저 반영한 상품과의 쌍
+                for (int j = 0; j < day.storedIds.size(); j++) {
+                    addPair(day.newIds.get(i), day.newRates.get(i), day.storedIds.get(j), day.storedRates.get(j), changes);
+                }
+            }
+            return true;
+        }
+
+        private void addPair(long productId, double rate, long otherId, double otherRate, Changes changes) {
+            if (productId == otherId) return;
+            ProductPair pair = ProductPair.of(productId, otherId);
+            boolean ordered = pair.a() == productId;
+            coMoments.computeIfAbsent(pair, key -> new CoMoments())
+                    .add(ordered ? rate : otherRate, ordered ? otherRate : rate);
+            changes.pairs.add(pair);
+        }
+    }
+
+    /**
+     * 같은 날짜의 행 (새로 반영할 행 / 이미 반영된 상품의 행)
+     */
+    private static final class Day {
+        LocalDate date;
+        final List<Long> newIds = new ArrayList<>();
+        final List<Double> newRates = new ArrayList<>();
+        final List<Long> storedIds = new ArrayList<>();
+        final List<Double> storedRates = new ArrayList<>();
+
+        void reset(LocalDate date) {
+            this.date = date;
+            newIds.clear();
+            newRates.clear();
+            storedIds.clear();
+            storedRates.clear();
+        }
+    }
+
+    /**
+     * 한 번의 갱신에서 바뀐 키 (변경된 행만 저장)
+     */
+    private static final class Changes {
+        final Set<Long> productIds = new HashSet<>();
+        final Set<ProductPair> pairs = new HashSet<>();
+
+        boolean isEmpty() {
+            return productIds.isEmpty() && pairs.isEmpty();
+        }
+
+        List<ProductReturnStatsDto> stats(State state) {
+            List<ProductReturnStatsDto> stats = new ArrayList<>(productIds.size());
+            productIds.forEach(productId -> stats.add(state.moments.get(productId).toDto(productId)));
+            return stats;
+        }
+
+        List<ProductReturnCoMomentDto> coMoments(State state) {
+            List<ProductReturnCoMomentDto> coMoments = new ArrayList<>(pairs.size());
+            pairs.forEach(pair -> coMoments.add(state.coMoments.get(pair).toDto(pair.a(), pair.b())));
+            return coMoments;
+        }
+    }
+}
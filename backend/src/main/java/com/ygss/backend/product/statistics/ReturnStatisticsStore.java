@@ -0,0 +1,35 @@
+package com.ygss.backend.product.statistics;
+
+import com.ygss.backend.product.dto.ProductReturnCoMomentDto;
+import com.ygss.backend.product.dto.ProductReturnStatsDto;
+import com.ygss.backend.product.repository.ProductReturnStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 누적 통계 저장 (변경된 행만 multi-row upsert)
+ * 수집 기준일(watermark)이 다음 갱신의 시작점이고 상품별 last_date 가 중복 반영을 막으므로
+ * 상품 / 쌍 통계와 기준일을 한 트랜잭션으로 기록 (일부만 반영되면 다음 갱신에서 중복 누적)
+ */
+@Component
+@RequiredArgsConstructor
+public class ReturnStatisticsStore {
+    private static final int BATCH_SIZE = 500;
+
+    private final ProductReturnStatsRepository productReturnStatsRepository;
+
+    @Transactional
+    public void save(List<ProductReturnStatsDto> stats, List<ProductReturnCoMomentDto> coMoments, LocalDate watermark) {
+        for (int from = 0; from < coMoments.size(); from += BATCH_SIZE) {
+            productReturnStatsRepository.upsertCoMoments(coMoments.subList(from, Math.min(coMoments.size(), from + BATCH_SIZE)));
+        }
+        for (int from = 0; from < stats.size(); from += BATCH_SIZE) {
+            productReturnStatsRepository.upsertStats(stats.subList(from, Math.min(stats.size(), from + BATCH_SIZE)));
+        }
+        productReturnStatsRepository.upsertWatermark(watermark);
+    }
+}
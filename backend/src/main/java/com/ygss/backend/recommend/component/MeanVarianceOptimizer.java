@@ -0,0 +1,323 @@
+package com.ygss.backend.recommend.component;
+
+import com.ygss.backend.recommend.dto.AllocationDto;
+import com.ygss.backend.recommend.dto.ProductRequestDto;
+import com.ygss.backend.recommend.dto.RecommendPortfolioResponse;
+import com.ygss.backend.recommend.risk.CovarianceMatrix;
+import com.ygss.backend.recommend.risk.RiskModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 평균-분산(Markowitz) 포트폴리오
+ * maximize μᵀw - (λ/2)wᵀΣw, Σw = 1, 0 ≤ wᵢ ≤ MAX_WEIGHT
+ * - Σ : RiskModel 이 미리 계산한 공분산 (연율화, shrinkage 적용)
+ * - λ : 포트폴리오 변동성이 위험 등급별 목표 변동성 이하가 되는 가장 작은 값 (log λ 구간 탐색)
+ * - 고정 λ 의 QP 는 가속 투영 경사법(FISTA, adaptive restart), λ 는 이전 해에서 이어 풀어(warm start) 반복 횟수를 줄임
+ * 공분산이 있는 후보가 부족하면 PortfolioOptimizer(기대 수익률 최대화)로 대체
+ */
+@Component
+public class MeanVarianceOptimizer {
+    private static final double MAX_WEIGHT = 0.5;
+    private static final int TOP_ALLOCATIONS = 5;
+    private static final int LAMBDA_SEARCH_STEPS = 30;
+    private static final double MIN_LAMBDA = 1e-4;
+    private static final double MAX_LAMBDA = 1e8;
+    private static final double LAMBDA_EXPANSION = 4.0;
+    // 목표 변동성의 이 비율 안에 들어오면 λ 탐색 종료
+    private static final double VOLATILITY_TOLERANCE = 1e-3;
+    private static final int POWER_ITERATIONS = 50;
+    private static final int PROJECTION_ITERATIONS = 60;
+
+    private final RiskModel riskModel;
+    private final PortfolioOptimizer portfolioOptimizer;
+    // 위험 등급 1 ~ 5 의 목표 연 변동성 (소수)
+    private final double[] targetVolatility;
+    private final int maxIterations;
+    private final double tolerance;
+
+    public MeanVarianceOptimizer(RiskModel riskModel,
+                                 PortfolioOptimizer portfolioOptimizer,
+                                 @Value("${recommend.mean-variance.target-volatility:0.03,0.06,0.10,0.15,0.20}") double[] targetVolatility,
+                                 @Value("${recommend.mean-variance.max-iterations:500}") int maxIterations,
+                                 @Value("${recommend.mean-variance.tolerance:1e-6}") double tolerance) {
+        this.riskModel = riskModel;
+        this.portfolioOptimizer = portfolioOptimizer;
+        this.targetVolatility = targetVolatility;
+        this.maxIterations = maxIterations;
+        this.tolerance = tolerance;
+    }
+
+    public RecommendPortfolioResponse optimize(List<ProductRequestDto> products, Long riskGradeId) {
+        CovarianceMatrix covariance = riskModel.getCovariance();
+        List<ProductRequestDto> candidates = new ArrayList<>();
+        List<Integer> matrixIndices = new ArrayList<>();
+        for (ProductRequestDto product : products) {
+            int index = covariance.indexOf(product.getId());
+            if (index < 0) continue;
+            candidates.add(product);
+            matrixIndices.add(index);
+        }
+        int n = candidates.size();
+        if (n * MAX_WEIGHT < 1.0) return portfolioOptimizer.optimize(products);
+
+        // 수익률은 % -> 소수 (공분산과 단위 맞춤)
+        double[] mu = new double[n];
+        for (int i = 0; i < n; i++) {
+            Double predictedReturn = candidates.get(i).getPredictedReturn();
+            mu[i] = predictedReturn != null ? predictedReturn / 100.0 : 0.0;
+        }
+        double[] sigma = covariance.subMatrix(matrixIndices.stream().mapToInt(Integer::intValue).toArray());
+        double target = targetVolatility[(int) Math.max(1, Math.min(targetVolatility.length, riskGradeId)) - 1];
+
+        double[] weights = solveForTarget(mu, sigma, n, largestEigenvalue(sigma, n), target);
+
+        // 매핑 (비중 큰 순서 상위 TOP_ALLOCATIONS 개)
+        double[] sigmaW = multiply(sigma, weights, n);
+        double expectedReturn = 0.0;
+        double variance = 0.0;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            expectedReturn += weights[i] * mu[i];
+            variance += weights[i] * sigmaW[i];
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> weights[i]).reversed());
+
+        List<AllocationDto> allocations = new ArrayList<>(TOP_ALLOCATIONS);
+        for (int k = 0; k < Math.min(n, TOP_ALLOCATIONS) && weights[order[k]] > 1e-6; k++) {
+            int i = order[k];
+            allocations.add(AllocationDto.builder()
+                    .assetCode(candidates.get(i).getId())
+                    .allocationPercentage(weights[i] * 100.0)
+                    .expectedReturn(mu[i] * 100.0)
+                    .riskScore(Math.sqrt(sigma[i * n + i]) * 100.0)
+                    .build());
+        }
+        double volatility = Math.sqrt(Math.max(0.0, variance));
+        return RecommendPortfolioResponse.builder()
+                .allocations(allocations)
+                .totalExpectedReturn(expectedReturn * 100.0)
+                .totalRiskScore(volatility * 100.0)
+                .sharpeRatio(volatility > 0.0 ? expectedReturn / volatility : null)
+                .riskGradeId(riskGradeId.intValue())
+                .build();
+    }
+
+    /**
+     * 목표 변동성 이하를 만족하는 가장 작은 λ 의 해
+     * λ 가 커질수록 변동성은 줄어드므로 λ = 1 에서 4배씩 늘리거나 줄여 목표를 사이에 둔 구간을 찾고,
+     * log λ 에 대해 Illinois(수정 regula falsi) 로 좁힘 (이분 탐색보다 풀이 횟수가 적음)
+     * 최소 분산 포트폴리오도 목표를 넘으면 가장 큰 λ 의 해(최소 분산에 가까운 해)를 사용
+     */
+    private double[] solveForTarget(double[] mu, double[] sigma, int n, double eigenvalue, double target) {
+        double[] weights = maxReturnWeights(mu, n);
+        if (volatility(sigma, weights, n) <= target) return weights;
+
+        double lo = 1.0;
+        double[] current = solve(mu, sigma, n, eigenvalue, lo, weights);
+        double volatilityLo = volatility(sigma, current, n);
+        double hi = lo;
+        double volatilityHi = volatilityLo;
+        double[] feasible = current;
+        if (volatilityLo > target) {
+            while (volatilityHi > target && hi < MAX_LAMBDA) {
+                lo = hi;
+                volatilityLo = volatilityHi;
+                hi *= LAMBDA_EXPANSION;
+                feasible = solve(mu, sigma, n, eigenvalue, hi, feasible);
+                volatilityHi = volatility(sigma, feasible, n);
+                // 최소 분산에 도달해 더 줄지 않음
+                if (volatilityHi > volatilityLo * (1.0 - VOLATILITY_TOLERANCE)) break;
+            }
+            if (volatilityHi > target) return feasible;
+        } else {
+            while (volatilityLo <= target) {
+                if (lo < MIN_LAMBDA) return feasible;
+                hi = lo;
+                volatilityHi = volatilityLo;
+                feasible = current;
+                lo /= LAMBDA_EXPANSION;
+                current = solve(mu, sigma, n, eigenvalue, lo, current);
+                volatilityLo = volatility(sigma, current, n);
+            }
+        }
+
+        double logLo = Math.log(lo);
+        double logHi = Math.log(hi);
+        double errorLo = volatilityLo - target;
+        double errorHi = volatilityHi - target;
+        int lastSide = 0;
+        for (int step = 0; step < LAMBDA_SEARCH_STEPS && volatilityHi < target * (1.0 - VOLATILITY_TOLERANCE); step++) {
+            double mid = (logLo * errorHi - logHi * errorLo) / (errorHi - errorLo);
+            if (!(mid > logLo && mid < logHi)) mid = (logLo + logHi) / 2.0;
+            double[] candidate = solve(mu, sigma, n, eigenvalue, Math.exp(mid), feasible);
+            double candidateVolatility = volatility(sigma, candidate, n);
+            if (candidateVolatility <= target) {
+                logHi = mid;
+                errorHi = candidateVolatility - target;
+                feasible = candidate;
+                volatilityHi = candidateVolatility;
+                if (lastSide < 0) errorLo /= 2.0;
+                lastSide = -1;
+            } else {
+                logLo = mid;
+                errorLo = candidateVolatility - target;
+                if (lastSide > 0) errorHi /= 2.0;
+                lastSide = 1;
+            }
+        }
+        return feasible;
+    }
+
+    /**
+     * 고정 λ 에서 min -μᵀw + (λ/2)wᵀΣw 를 FISTA 로 풂 (warmStart 에서 시작)
+     * 스텝 1/L, L = λ·λmax(Σ), 목적 함수가 나빠지는 방향으로 관성이 붙으면 관성을 초기화(adaptive restart)
+     */
+    private double[] solve(double[] mu, double[] sigma, int n, double eigenvalue, double lambda, double[] warmStart) {
+        double lipschitz = lambda * eigenvalue;
+        if (lipschitz <= 0.0) return maxReturnWeights(mu, n);
+        double step = 1.0 / lipschitz;
+
+        double[] w = warmStart.clone();
+        double[] y = warmStart.clone();
+        double[] next = new double[n];
+        double[] sigmaY = new double[n];
+        double momentum = 1.0;
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            multiply(sigma, y, n, sigmaY);
+            for (int i = 0; i < n; i++) {
+                next[i] = y[i] - step * (lambda * sigmaY[i] - mu[i]);
+            }
+            projectCappedSimplex(next, n);
+
+            double change = 0.0;
+            double restart = 0.0;
+            for (int i = 0; i < n; i++) {
+                double delta = next[i] - w[i];
+                change = Math.max(change, Math.abs(delta));
+                restart += (y[i] - next[i]) * delta;
+            }
+            if (change < tolerance) {
+                System.arraycopy(next, 0, w, 0, n);
+                break;
+            }
+
+            double nextMomentum = restart > 0.0 ? 1.0 : (1.0 + Math.sqrt(1.0 + 4.0 * momentum * momentum)) / 2.0;
+            double beta = restart > 0.0 ? 0.0 : (momentum - 1.0) / nextMomentum;
+            for (int i = 0; i < n; i++) {
+                y[i] = next[i] + beta * (next[i] - w[i]);
+                w[i] = next[i];
+            }
+            momentum = nextMomentum;
+        }
+        return w;
+    }
+
+    /**
+     * {w : Σw = 1, 0 ≤ wᵢ ≤ MAX_WEIGHT} 위로의 유클리드 투영 (제자리)
+     * wᵢ = clamp(vᵢ - τ, 0, MAX_WEIGHT) 의 합 s(τ) 가 1 이 되는 τ 를 찾음
+     * s(τ) 는 구간별 선형이므로 구간 [lo, hi] 안에서 Newton 스텝을 쓰고, 벗어나면 이분 탐색
+     */
+    static void projectCappedSimplex(double[] v, int n) {
+        double lo = Double.POSITIVE_INFINITY;
+        double hi = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            lo = Math.min(lo, v[i]);
+            hi = Math.max(hi, v[i]);
+        }
+        lo -= MAX_WEIGHT;   // τ = lo 이면 모두 상한 (합 ≥ 1)
+        double tau = (lo + hi) / 2.0;
+        for (int iteration = 0; iteration < PROJECTION_ITERATIONS; iteration++) {
+            double sum = 0.0;
+            int free = 0;
+            for (int i = 0; i < n; i++) {
+                double x = v[i] - tau;
+                if (x >= MAX_WEIGHT) {
+                    sum += MAX_WEIGHT;
+                } else if (x > 0.0) {
+                    sum += x;
+                    free++;
+                }
+            }
+            if (Math.abs(sum - 1.0) < 1e-12) break;
+            if (sum > 1.0) lo = tau;
+            else hi = tau;
+            // s'(τ) = -free
+            double newton = free > 0 ? tau + (sum - 1.0) / free : Double.NaN;
+            tau = newton > lo && newton < hi ? newton : (lo + hi) / 2.0;
+        }
+        for (int i = 0; i < n; i++) v[i] = Math.max(0.0, Math.min(MAX_WEIGHT, v[i] - tau));
+    }
+
+    /**
+     * λ = 0 의 해 : 기대 수익률 큰 순서로 MAX_WEIGHT 씩 채움 (PortfolioOptimizer.optimize 와 같은 해)
+     */
+    private static double[] maxReturnWeights(double[] mu, int n) {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> mu[i]).reversed());
+        double[] weights = new double[n];
+        double remaining = 1.0;
+        for (int k = 0; k < n && remaining > 1e-12; k++) {
+            double w = Math.min(MAX_WEIGHT, remaining);
+            weights[order[k]] = w;
+            remaining -= w;
+        }
+        return weights;
+    }
+
+    /**
+     * Σ 의 최대 고유값 (거듭제곱법), 공분산은 양의 준정부호라 Rayleigh 몫이 아래에서 수렴하므로 5% 여유를 둠
+     */
+    private static double largestEigenvalue(double[] sigma, int n) {
+        double[] v = new double[n];
+        Arrays.fill(v, 1.0 / Math.sqrt(n));
+        double eigenvalue = 0.0;
+        for (int iteration = 0; iteration < POWER_ITERATIONS; iteration++) {
+            double[] next = multiply(sigma, v, n);
+            double norm = 0.0;
+            for (double value : next) norm += value * value;
+            norm = Math.sqrt(norm);
+            if (norm == 0.0) return 0.0;
+            for (int i = 0; i < n; i++) v[i] = next[i] / norm;
+            if (Math.abs(norm - eigenvalue) < 1e-6 * norm) {
+                eigenvalue = norm;
+                break;
+            }
+            eigenvalue = norm;
+        }
+        return eigenvalue * 1.05;
+    }
+
+    private static double volatility(double[] sigma, double[] weights, int n) {
+        double[] sigmaW = multiply(sigma, weights, n);
+        double variance = 0.0;
+        for (int i = 0; i < n; i++) variance += weights[i] * sigmaW[i];
+        return Math.sqrt(Math.max(0.0, variance));
+    }
+
+    private static double[] multiply(double[] matrix, double[] vector, int n) {
+        double[] result = new double[n];
+        multiply(matrix, vector, n, result);
+        return result;
+    }
+
+    /**
+     * result = Σv, Σ 가 대칭이므로 0 이 아닌 vⱼ 의 행 j 만 누적 (투영 후 비중은 대부분 0 이라 O(n·nnz))
+     */
+    private static void multiply(double[] matrix, double[] vector, int n, double[] result) {
+        Arrays.fill(result, 0.0);
+        for (int j = 0; j < n; j++) {
+            double value = vector[j];
+            if (value == 0.0) continue;
+            int row = j * n;
+            for (int i = 0; i < n; i++) result[i] += value * matrix[row + i];
+        }
+    }
+}
@@ -17,6 +17,17 @@ import java.util.List;
 public class PortfolioOptimizer {
     // Allocation / PortfolioResult 클래스 정의는 생략(기존 것 사용)
 
+    // 상품 하나의 최대 비중
+    private static final double MAX_WEIGHT = 0.5;
+    // 응답에 담는 상품 수
+    private static final int TOP_ALLOCATIONS = 5;
+
+    /**
+     * maximize Σwᵢrᵢ, Σw = 1, 0 ≤ wᵢ ≤ MAX_WEIGHT 전용 풀이
+     * 선형 목적식 + 합 제약 + 상한 제약뿐이라 수익률이 큰 상품부터 MAX_WEIGHT 씩 채우는 greedy 가 최적해 (분수 배낭과 같음)
+     * 필요한 건 상위 max(ceil(1 / MAX_WEIGHT), TOP_ALLOCATIONS) 개뿐이므로 정렬 없이 한 번의 순회로 부분 선택한다.
+     * 결과(기대 수익률, 응답 상품 순서)는 optimizeWithModel 과 같음
+     */
     public RecommendPortfolioResponse optimize(List<ProductRequestDto> products) {
         int n = products.size();
         if (n == 0) {
@@ -26,6 +37,72 @@ public class PortfolioOptimizer {
                     .build();
         }
 
+        // 1) 수익률 상위 k 개 인덱스 (내림차순, 같으면 앞선 상품 우선 = optimizeWithModel 의 안정 정렬과 같은 순서)
+        int fillCount = (int) Math.ceil(1.0 / MAX_WEIGHT);
+        int[] top = new int[Math.min(n, Math.max(fillCount, TOP_ALLOCATIONS))];
+        int size = 0;
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            double r = predictedReturn(products.get(i));
+            sum += r;
+            if (size == top.length && r <= predictedReturn(products.get(top[size - 1]))) continue;
+
+            int pos = size < top.length ? size++ : size - 1;
+            while (pos > 0 && predictedReturn(products.get(top[pos - 1])) < r) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = i;
+        }
+
+        // 2) 기대 수익률
+        double maxReturn = 0.0;
+        if (n * MAX_WEIGHT < 1.0) {
+            // 합 = 1 을 만들 수 없음 -> optimizeWithModel 과 같은 균등 배분
+            maxReturn = sum / n;
+        } else {
+            double remaining = 1.0;
+            for (int j = 0; j < size && remaining > 1e-12; j++) {
+                double w = Math.min(MAX_WEIGHT, remaining);
+                maxReturn += w * predictedReturn(products.get(top[j]));
+                remaining -= w;
+            }
+        }
+
+        // 3) 매핑 (allocationPercentage 는 optimizeWithModel 과 같게 예상 수익률)
+        int count = Math.min(size, TOP_ALLOCATIONS);
+        List<AllocationDto> allocations = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            ProductRequestDto product = products.get(top[j]);
+            double r = predictedReturn(product);
+            allocations.add(AllocationDto.builder()
+                    .assetCode(product.getId())
+                    .expectedReturn(r)
+                    .allocationPercentage(r)
+                    .build());
+        }
+        return RecommendPortfolioResponse.builder()
+                .totalExpectedReturn(maxReturn)
+                .allocations(allocations)
+                .build();
+    }
+
+    private static double predictedReturn(ProductRequestDto product) {
+        return product.getPredictedReturn() != null ? product.getPredictedReturn() : 0.0;
+    }
+
+    /**
+     * ojalgo LP 일반 풀이, 제약이 더 늘어나면(상품 유형별 비중, 위험 한도 등) 이 모델에 추가
+     */
+    public RecommendPortfolioResponse optimizeWithModel(List<ProductRequestDto> products) {
+        int n = products.size();
+        if (n == 0) {
+            return RecommendPortfolioResponse.builder()
+                    .totalExpectedReturn(0.0)
+                    .allocations(List.of())
+                    .build();
+        }
+
         ExpressionsBasedModel model = new ExpressionsBasedModel();
 
         // 1) 변수 생성 (model.newVariable(...).lower(...).upper(...))
@@ -33,7 +110,7 @@ public class PortfolioOptimizer {
         for (int i = 0; i < n; i++) {
             weights[i] = model.newVariable("w_" + i)
                     .lower(0.0)   // 하한 0
-                    .upper(0.5);  // 상한 0.5 (50%)
+                    .upper(MAX_WEIGHT);  // 상한 0.5 (50%)
             // model.newVariable(...)이 모델에 변수 등록까지 해줍니다.
         }
 
@@ -85,7 +162,7 @@ public class PortfolioOptimizer {
         });
         return RecommendPortfolioResponse.builder()
                 .totalExpectedReturn(maxReturn)
-                .allocations(allocations.subList(0,Math.min(allocations.size(), 5)))
+                .allocations(allocations.subList(0,Math.min(allocations.size(), TOP_ALLOCATIONS)))
                 .build();
     }
 }
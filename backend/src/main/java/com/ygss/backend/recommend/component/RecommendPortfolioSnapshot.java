@@ -0,0 +1,152 @@
+package com.ygss.backend.recommend.component;
+
+import com.ygss.backend.pensionProduct.repository.PensionProductRepository;
+import com.ygss.backend.product.repository.ProductDetailRepository;
+import com.ygss.backend.recommend.dto.ProductRequestDto;
+import com.ygss.backend.recommend.dto.RecommendPortfolioResponse;
+import com.ygss.backend.recommend.dto.RecommendProductDto;
+import com.ygss.backend.recommend.event.ProductProfitUpdatedEvent;
+import com.ygss.backend.recommend.event.RiskModelUpdatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 위험 등급별 추천 포트폴리오 메모리 스냅샷
+ * 추천 결과는 (투자 성향 ±1, DC / IRP) 로 정해지는 유효 위험 등급(1 ~ 5)에만 의존하므로
+ * 등급마다 상품 조회 + 최적화 + 상품 정보 조회를 미리 해두고, 요청에서는 연봉 기반 예측만 계산한다.
+ * - recommend.optimizer.mode : max-return (PortfolioOptimizer, 기본) / mean-variance (MeanVarianceOptimizer)
+ * - 기동 시 / ProductProfitUpdatedEvent (수익률 변경 커밋 후) 수신 시 전체 재계산 (참조 교체)
+ * - mean-variance 모드는 RiskModelUpdatedEvent (공분산 재계산) 수신 시에도 재계산
+ * - 스냅샷에 없는 등급은 그 자리에서 계산해 채움 (적재 실패 등)
+ */
+@Slf4j
+@Component
+public class RecommendPortfolioSnapshot {
+    private static final long MIN_RISK_GRADE = 1L;
+    private static final long MAX_RISK_GRADE = 5L;
+    private static final String MEAN_VARIANCE_MODE = "mean-variance";
+
+    private final ProductDetailRepository productDetailRepository;
+    private final PensionProductRepository pensionProductRepository;
+    private final PortfolioOptimizer portfolioOptimizer;
+    private final MeanVarianceOptimizer meanVarianceOptimizer;
+    private final boolean enabled;
+    private final boolean meanVariance;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Map<Long, RecommendPortfolio> portfolios = Map.of();
+
+    public RecommendPortfolioSnapshot(ProductDetailRepository productDetailRepository,
+                                      PensionProductRepository pensionProductRepository,
+                                      PortfolioOptimizer portfolioOptimizer,
+                                      MeanVarianceOptimizer meanVarianceOptimizer,
+                                      @Value("${recommend.portfolio-snapshot.enabled:true}") boolean enabled,
+                                      @Value("${recommend.optimizer.mode:max-return}") String optimizerMode) {
+        this.productDetailRepository = productDetailRepository;
+        this.pensionProductRepository = pensionProductRepository;
+        this.portfolioOptimizer = portfolioOptimizer;
+        this.meanVarianceOptimizer = meanVarianceOptimizer;
+        this.enabled = enabled;
+        this.meanVariance = MEAN_VARIANCE_MODE.equalsIgnoreCase(optimizerMode);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 스냅샷이 없으면 요청 시 계산하므로 기동은 계속
+            log.warn("Recommend Portfolio Snapshot Load Failed : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 수익률 변경 트랜잭션이 커밋된 뒤에 재계산 (커밋 전 값으로 계산하지 않도록)
+     * - 실패하면 이전 스냅샷을 그대로 제공
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductProfitUpdated(ProductProfitUpdatedEvent event) {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Recommend Portfolio Snapshot Reload Failed : {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onRiskModelUpdated(RiskModelUpdatedEvent event) {
+        if (!meanVariance) return;
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Recommend Portfolio Snapshot Reload Failed : {}", e.getMessage());
+        }
+    }
+
+    public void reload() {
+        reloadLock.lock();
+        try {
+            if (!enabled) return;
+
+            Map<Long, RecommendPortfolio> loaded = new HashMap<>();
+            for (long riskGradeId = MIN_RISK_GRADE; riskGradeId <= MAX_RISK_GRADE; riskGradeId++) {
+                loaded.put(riskGradeId, compute(riskGradeId));
+            }
+            portfolios = Map.copyOf(loaded);
+            log.info("Recommend Portfolio Snapshot Loaded : {} risk grades", portfolios.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * @param riskGradeId
+     * : 유효 위험 등급 (RecommendPortfolioRequest.limitFieldRange 적용 후 1 ~ 5)
+     */
+    public RecommendPortfolio get(Long riskGradeId) {
+        RecommendPortfolio portfolio = portfolios.get(riskGradeId);
+        if (portfolio != null) return portfolio;
+        if (!enabled) return compute(riskGradeId);
+
+        reloadLock.lock();
+        try {
+            portfolio = portfolios.get(riskGradeId);
+            if (portfolio != null) return portfolio;
+            portfolio = compute(riskGradeId);
+            Map<Long, RecommendPortfolio> updated = new HashMap<>(portfolios);
+            updated.put(riskGradeId, portfolio);
+            portfolios = Map.copyOf(updated);
+            return portfolio;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private RecommendPortfolio compute(Long riskGradeId) {
+        List<ProductRequestDto> products = productDetailRepository.selectProductForRecommend(riskGradeId);
+        RecommendPortfolioResponse response = meanVariance
+                ? meanVarianceOptimizer.optimize(products, riskGradeId)
+                : portfolioOptimizer.optimize(products);
+        List<RecommendProductDto> recommendProductList = new ArrayList<>();
+        response.getAllocations().forEach((product) -> {
+            recommendProductList.add(pensionProductRepository.selectProductById(product.getAssetCode())
+                    .orElse(null));
+        });
+        // 요청 간 공유되므로 수정 불가 (없는 상품 null 은 기존 응답과 같게 유지)
+        return new RecommendPortfolio(response.getTotalExpectedReturn(), Collections.unmodifiableList(recommendProductList));
+    }
+
+    public record RecommendPortfolio(Double totalExpectedReturn, List<RecommendProductDto> recommendProductList) {
+    }
+}
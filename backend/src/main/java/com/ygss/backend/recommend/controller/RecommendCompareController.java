@@ -2,6 +2,7 @@ package com.ygss.backend.recommend.controller;
 
 import com.ygss.backend.recommend.dto.*;
 import com.ygss.backend.recommend.service.RecommendCompareServiceImpl;
+import com.ygss.backend.recommend.service.RecommendJobServiceImpl;
 import com.ygss.backend.user.dto.EditUserInfoResponseDto;
 import com.ygss.backend.user.dto.UserAccountsDto;
 import com.ygss.backend.user.repository.UserAccountsRepository;
@@ -10,12 +11,17 @@ import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
@@ -24,6 +30,7 @@ import java.util.List;
 public class RecommendCompareController {
     private final RecommendCompareServiceImpl recommendCompareService;
     private final UserServiceImpl userService;
+    private final RecommendJobServiceImpl recommendJobService;
     /**
      *  로그인하지 않은 사용자의 상품 추천 -> ??
      */
@@ -80,6 +87,67 @@ public class RecommendCompareController {
         }
     }
 
+    /**
+     * 상품 추천 작업 등록 (비로그인), 바로 jobId 를 반환하고 결과는 조회 / SSE 로 받는다
+     * type : dc | irp
+     */
+    @PostMapping("/public/compare/{type}/jobs")
+    public ResponseEntity<?> publicSubmitCompareJob(@PathVariable String type, RecommendCompareRequestDto request) {
+        return submitJob(null, type, request);
+    }
+
+    /**
+     * 상품 추천 작업 등록 (로그인)
+     */
+    @PostMapping("/compare/{type}/jobs")
+    public ResponseEntity<?> submitCompareJob(
+            @PathVariable String type,
+            @Nullable RecommendCompareRequestDto request,
+            @AuthenticationPrincipal String email) {
+        return submitJob(email, type, request);
+    }
+
+    private ResponseEntity<?> submitJob(String email, String type, RecommendCompareRequestDto request) {
+        if (!"dc".equals(type) && !"irp".equals(type)) return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(false);
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(recommendJobService.submit(email, request, "dc".equals(type)));
+        } catch (RejectedExecutionException e) {
+            log.warn("Recommend Job Rejected : queue full");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(false);
+        }
+    }
+
+    /**
+     * 상품 추천 작업 상태 / 결과 조회 (polling)
+     */
+    @GetMapping("/public/compare/jobs/{jobId}")
+    public ResponseEntity<?> publicGetCompareJob(@PathVariable String jobId) {
+        return getCompareJob(jobId, null);
+    }
+
+    @GetMapping("/compare/jobs/{jobId}")
+    public ResponseEntity<?> getCompareJob(@PathVariable String jobId, @AuthenticationPrincipal String email) {
+        return recommendJobService.getJob(jobId, email)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(false));
+    }
+
+    /**
+     * 상품 추천 작업 결과 구독 (SSE), 작업이 끝나면 result 이벤트 하나를 보내고 종료
+     */
+    @GetMapping(value = "/public/compare/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<RecommendJobResponseDto>> publicSubscribeCompareJob(@PathVariable String jobId) {
+        return subscribeCompareJob(jobId, null);
+    }
+
+    @GetMapping(value = "/compare/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<RecommendJobResponseDto>> subscribeCompareJob(@PathVariable String jobId, @AuthenticationPrincipal String email) {
+        return recommendJobService.awaitJob(jobId, email)
+                .map((job) -> ServerSentEvent.builder(job).event("result").build())
+                .switchIfEmpty(Mono.just(ServerSentEvent.<RecommendJobResponseDto>builder().event("not_found").build()))
+                .flux();
+    }
+
     /**
      * 추천될 상품 후보 목록 조회
      */
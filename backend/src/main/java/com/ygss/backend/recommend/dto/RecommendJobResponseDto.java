@@ -0,0 +1,13 @@
+package com.ygss.backend.recommend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RecommendJobResponseDto {
+    private String jobId;
+    private RecommendJobStatus status;
+    private RecommendCompareResponseDto result;    // DONE 일 때만
+    private String message;                        // FAILED 일 때만
+}
@@ -0,0 +1,8 @@
+package com.ygss.backend.recommend.dto;
+
+public enum RecommendJobStatus {
+    PENDING,    // 실행 대기
+    RUNNING,    // 계산 중
+    DONE,       // 완료 (result 포함)
+    FAILED      // 실패 (message 포함)
+}
@@ -0,0 +1,16 @@
+package com.ygss.backend.recommend.event;
+
+import lombok.Getter;
+
+/**
+ * retire_pension_products.next_year_profit_rate 가 바뀌었을 때 발행
+ * 예상 수익률로 미리 계산해 둔 추천 포트폴리오를 다시 만드는 데 사용
+ */
+@Getter
+public class ProductProfitUpdatedEvent {
+    private final int updatedCount;
+
+    public ProductProfitUpdatedEvent(int updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+}
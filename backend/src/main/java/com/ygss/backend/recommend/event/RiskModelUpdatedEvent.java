@@ -0,0 +1,16 @@
+package com.ygss.backend.recommend.event;
+
+import lombok.Getter;
+
+/**
+ * 상품 공분산 행렬(RiskModel)을 다시 계산했을 때 발행
+ * 공분산에 의존하는 추천 포트폴리오 스냅샷을 다시 만드는 데 사용
+ */
+@Getter
+public class RiskModelUpdatedEvent {
+    private final int productCount;
+
+    public RiskModelUpdatedEvent(int productCount) {
+        this.productCount = productCount;
+    }
+}
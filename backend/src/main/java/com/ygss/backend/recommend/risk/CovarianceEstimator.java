@@ -0,0 +1,127 @@
+package com.ygss.backend.recommend.risk;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 일별 수익률로 공분산 행렬 추정 (Ledoit-Wolf shrinkage)
+ * 상품 수 n 에 비해 관측일 T 가 짧으면 표본 공분산은 불안정(특이 행렬에 가까움)하므로
+ * 대각 목표 μI (μ = 평균 분산) 쪽으로 최적 강도 δ 만큼 당긴다 : Σ = δμI + (1 - δ)S
+ * 계산량 O(n²T), 요청 경로가 아닌 RiskModel 재계산 시에만 실행
+ * 관측 없는 날은 편차 0 으로 두고, 상품별로 sqrt((T - 1) / (nᵢ - 1)) 를 곱해 분산이 nᵢ 개 관측 기준이 되게 맞춤
+ * (XXᵀ 의 합동 변환이라 양의 준정부호 유지, 결측 비율은 RiskModel 의 min-coverage 로 제한)
+ */
+public final class CovarianceEstimator {
+    // 연율화 (영업일 기준)
+    public static final int TRADING_DAYS = 252;
+
+    private CovarianceEstimator() {
+    }
+
+    /**
+     * @param productIds
+     * : 상품 id, series 와 같은 순서
+     * @param series
+     * : 상품별 일별 수익률 (같은 날짜 축, 관측 없는 날은 NaN), 소수 단위
+     */
+    public static CovarianceMatrix estimate(long[] productIds, List<double[]> series) {
+        int n = productIds.length;
+        if (n == 0) return CovarianceMatrix.empty();
+        int days = series.get(0).length;
+
+        // 1. 평균을 뺀 편차 (관측 없는 날은 평균으로 채운 것과 같게 0, 관측 수 보정 배율 적용)
+        double[][] deviations = new double[n][];
+        for (int i = 0; i < n; i++) {
+            double[] values = series.get(i);
+            double sum = 0.0;
+            int count = 0;
+            for (double value : values) {
+                if (Double.isNaN(value)) continue;
+                sum += value;
+                count++;
+            }
+            double mean = count == 0 ? 0.0 : sum / count;
+            // 0 으로 채운 날만큼 작아진 제곱합을 보정 (모두 관측이면 1)
+            double scale = count < 2 ? 1.0 : Math.sqrt(Math.max(1, days - 1) / (double) (count - 1));
+            double[] deviation = new double[days];
+            for (int t = 0; t < days; t++) {
+                deviation[t] = Double.isNaN(values[t]) ? 0.0 : (values[t] - mean) * scale;
+            }
+            deviations[i] = deviation;
+        }
+
+        // 2. 표본 공분산 (packed 하삼각)
+        double[] sample = new double[CovarianceMatrix.packedSize(n)];
+        double denominator = Math.max(1, days - 1);
+        for (int i = 0; i < n; i++) {
+            double[] x = deviations[i];
+            for (int j = 0; j <= i; j++) {
+                double[] y = deviations[j];
+                double dot = 0.0;
+                for (int t = 0; t < days; t++) dot += x[t] * y[t];
+                sample[CovarianceMatrix.packedIndex(i, j)] = dot / denominator;
+            }
+        }
+
+        // 3. shrinkage 강도 (Ledoit & Wolf 2004, ‖A‖² = tr(AAᵀ) / n)
+        double shrinkage = shrinkageIntensity(sample, deviations, n, days);
+        double mu = 0.0;
+        for (int i = 0; i < n; i++) mu += sample[CovarianceMatrix.packedIndex(i, i)];
+        mu /= n;
+
+        double[] values = new double[sample.length];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                int index = CovarianceMatrix.packedIndex(i, j);
+                double target = i == j ? mu : 0.0;
+                values[index] = (shrinkage * target + (1.0 - shrinkage) * sample[index]) * TRADING_DAYS;
+            }
+        }
+        return new CovarianceMatrix(Arrays.copyOf(productIds, n), values, shrinkage);
+    }
+
+    private static double shrinkageIntensity(double[] sample, double[][] deviations, int n, int days) {
+        if (days < 2) return 1.0;
+
+        double mu = 0.0;
+        for (int i = 0; i < n; i++) mu += sample[CovarianceMatrix.packedIndex(i, i)];
+        mu /= n;
+
+        // d² = ‖S - μI‖², ‖S‖²_F
+        double sampleNorm = 0.0;
+        double d2 = 0.0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                double value = sample[CovarianceMatrix.packedIndex(i, j)];
+                double weight = i == j ? 1.0 : 2.0;
+                sampleNorm += weight * value * value;
+                double diff = i == j ? value - mu : value;
+                d2 += weight * diff * diff;
+            }
+        }
+        d2 /= n;
+        if (d2 <= 0.0) return 1.0;
+
+        // b̄² = (1 / T²) Σ_t ‖x_t x_tᵀ - S‖², ‖x xᵀ - S‖²_F = (xᵀx)² - 2xᵀSx + ‖S‖²_F
+        double[] x = new double[n];
+        double b2 = 0.0;
+        for (int t = 0; t < days; t++) {
+            double xx = 0.0;
+            for (int i = 0; i < n; i++) {
+                x[i] = deviations[i][t];
+                xx += x[i] * x[i];
+            }
+            double xSx = 0.0;
+            for (int i = 0; i < n; i++) {
+                if (x[i] == 0.0) continue;
+                double row = 0.0;
+                for (int j = 0; j < n; j++) row += sample[CovarianceMatrix.packedIndex(i, j)] * x[j];
+                xSx += x[i] * row;
+            }
+            b2 += (xx * xx - 2.0 * xSx + sampleNorm) / n;
+        }
+        b2 /= (double) days * days;
+
+        return Math.max(0.0, Math.min(1.0, Math.min(b2, d2) / d2));
+    }
+}
@@ -0,0 +1,90 @@
+package com.ygss.backend.recommend.risk;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 상품 수익률 공분산 행렬 (불변, 연율화)
+ * 대칭이므로 하삼각만 packed double[] 로 보관 : (i, j), j ≤ i 는 values[i(i+1)/2 + j]
+ */
+public final class CovarianceMatrix {
+    private static final CovarianceMatrix EMPTY = new CovarianceMatrix(new long[0], new double[0], 0.0);
+
+    private final long[] productIds;
+    private final Map<Long, Integer> indexById;
+    private final double[] values;
+    // 적용된 shrinkage 강도 (0 : 표본 공분산 그대로, 1 : 대각 목표 행렬)
+    private final double shrinkage;
+
+    CovarianceMatrix(long[] productIds, double[] values, double shrinkage) {
+        this.productIds = productIds;
+        this.values = values;
+        this.shrinkage = shrinkage;
+        Map<Long, Integer> index = new HashMap<>(productIds.length * 2);
+        for (int i = 0; i < productIds.length; i++) index.put(productIds[i], i);
+        this.indexById = Map.copyOf(index);
+    }
+
+    public static CovarianceMatrix empty() {
+        return EMPTY;
+    }
+
+    static int packedIndex(int i, int j) {
+        return i >= j ? i * (i + 1) / 2 + j : j * (j + 1) / 2 + i;
+    }
+
+    static int packedSize(int n) {
+        return n * (n + 1) / 2;
+    }
+
+    public int size() {
+        return productIds.length;
+    }
+
+    public double shrinkage() {
+        return shrinkage;
+    }
+
+    /**
+     * @return
+     * : 행렬 안의 위치, 수익률 이력이 부족해 빠진 상품은 -1
+     */
+    public int indexOf(Long productId) {
+        return indexById.getOrDefault(productId, -1);
+    }
+
+    public long productId(int index) {
+        return productIds[index];
+    }
+
+    public double get(int i, int j) {
+        return values[packedIndex(i, j)];
+    }
+
+    public double variance(int i) {
+        return values[packedIndex(i, i)];
+    }
+
+    /**
+     * 주어진 위치들만 뽑은 n x n 행 우선(row-major) 행렬
+     */
+    public double[] subMatrix(int[] indices) {
+        int n = indices.length;
+        double[] sub = new double[n * n];
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b <= a; b++) {
+                double value = get(indices[a], indices[b]);
+                sub[a * n + b] = value;
+                sub[b * n + a] = value;
+            }
+        }
+        return sub;
+    }
+
+    @Override
+    public String toString() {
+        return "CovarianceMatrix{size=" + productIds.length + ", shrinkage=" + shrinkage
+                + ", productIds=" + Arrays.toString(Arrays.copyOf(productIds, Math.min(productIds.length, 10))) + "}";
+    }
+}
@@ -0,0 +1,122 @@
+package com.ygss.backend.recommend.risk;
+
+import com.ygss.backend.product.dto.ProductDailyRateDto;
+import com.ygss.backend.product.repository.ProductPriceLogRespository;
+import com.ygss.backend.recommend.event.RiskModelUpdatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * retire_pension_product_price_log.daily_rate 로 추정한 상품 공분산 행렬 스냅샷
+ * 평균-분산 최적화가 요청마다 가격 이력을 읽지 않도록 미리 계산해 둔다.
+ * - 기동 시 / 매일 rebuild-cron 에 최근 lookback-days 구간으로 재계산 (참조 교체)
+ * - 관측일이 min-observations 미만이거나, 전체 날짜 축 대비 관측 비율이 min-coverage 미만인 상품은 행렬에서 제외
+ *   (결측이 많은 상품은 공분산 추정이 왜곡되므로 최적화 후보에서 빠지고, 기대 수익률 최대화 쪽에서만 다룸)
+ */
+@Slf4j
+@Component
+public class RiskModel {
+    private final ProductPriceLogRespository productPriceLogRespository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int lookbackDays;
+    private final int minObservations;
+    private final double minCoverage;
+    private final double dailyRateScale;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile CovarianceMatrix covariance = CovarianceMatrix.empty();
+
+    public RiskModel(ProductPriceLogRespository productPriceLogRespository,
+                     ApplicationEventPublisher eventPublisher,
+                     @Value("${recommend.risk-model.lookback-days:365}") int lookbackDays,
+                     @Value("${recommend.risk-model.min-observations:60}") int minObservations,
+                     @Value("${recommend.risk-model.min-coverage:0.9}") double minCoverage,
+                     @Value("${recommend.risk-model.daily-rate-scale:0.01}") double dailyRateScale) {
+        this.productPriceLogRespository = productPriceLogRespository;
+        this.eventPublisher = eventPublisher;
+        this.lookbackDays = lookbackDays;
+        this.minObservations = minObservations;
+        this.minCoverage = minCoverage;
+        this.dailyRateScale = dailyRateScale;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 공분산이 없으면 평균-분산 모드도 기대 수익률 최대화로 동작하므로 기동은 계속
+            log.warn("Risk Model Load Failed : {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${recommend.risk-model.rebuild-cron:0 30 6 * * *}")
+    public void rebuild() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Risk Model Rebuild Failed : {}", e.getMessage());
+        }
+    }
+
+    public void reload() {
+        reloadLock.lock();
+        try {
+            LocalDate latest = productPriceLogRespository.selectLatestDate();
+            if (latest == null) return;
+
+            List<ProductDailyRateDto> rows = productPriceLogRespository.selectDailyRatesSince(latest.minusDays(lookbackDays));
+
+            // 날짜 축 (rows 는 날짜순)
+            Map<LocalDate, Integer> dateIndex = new LinkedHashMap<>();
+            Map<Long, Integer> observations = new HashMap<>();
+            for (ProductDailyRateDto row : rows) {
+                if (row.getDailyRate() == null) continue;
+                dateIndex.putIfAbsent(row.getDate(), dateIndex.size());
+                observations.merge(row.getProductId(), 1, Integer::sum);
+            }
+
+            int requiredObservations = Math.max(minObservations, (int) Math.ceil(minCoverage * dateIndex.size()));
+            Map<Long, double[]> seriesById = new LinkedHashMap<>();
+            observations.forEach((productId, count) -> {
+                if (count < requiredObservations) return;
+                double[] values = new double[dateIndex.size()];
+                Arrays.fill(values, Double.NaN);
+                seriesById.put(productId, values);
+            });
+            for (ProductDailyRateDto row : rows) {
+                double[] values = seriesById.get(row.getProductId());
+                if (values == null || row.getDailyRate() == null) continue;
+                values[dateIndex.get(row.getDate())] = row.getDailyRate() * dailyRateScale;
+            }
+
+            long[] productIds = seriesById.keySet().stream().mapToLong(Long::longValue).toArray();
+            CovarianceMatrix estimated = CovarianceEstimator.estimate(productIds, new ArrayList<>(seriesById.values()));
+            covariance = estimated;
+            log.info("Risk Model Loaded : {} products ({} excluded), {} days, shrinkage {}",
+                    estimated.size(), observations.size() - estimated.size(), dateIndex.size(),
+                    String.format("%.3f", estimated.shrinkage()));
+        } finally {
+            reloadLock.unlock();
+        }
+        eventPublisher.publishEvent(new RiskModelUpdatedEvent(covariance.size()));
+    }
+
+    public CovarianceMatrix getCovariance() {
+        return covariance;
+    }
+}
@@ -1,13 +1,14 @@
 package com.ygss.backend.recommend.service;
 
 import com.ygss.backend.chatbot.service.FastApiServiceImpl;
+import com.ygss.backend.global.resilience.Deadline;
 import com.ygss.backend.pensionProduct.dto.entity.PensionProduct;
 import com.ygss.backend.pensionProduct.dto.request.BondSearchRequest;
 import com.ygss.backend.pensionProduct.dto.request.SearchCondition;
 import com.ygss.backend.pensionProduct.dto.response.BondDto;
 import com.ygss.backend.pensionProduct.repository.PensionProductRepository;
 import com.ygss.backend.product.repository.ProductDetailRepository;
-import com.ygss.backend.recommend.component.PortfolioOptimizer;
+import com.ygss.backend.recommend.component.RecommendPortfolioSnapshot;
 import com.ygss.backend.recommend.dto.*;
 import com.ygss.backend.user.dto.UserAccountsDto;
 import com.ygss.backend.user.repository.UserAccountsRepository;
@@ -17,6 +18,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,12 +28,18 @@ import java.util.List;
 public class RecommendCompareServiceImpl implements RecommendCompareService {
     @Value("${fastapi.base.url}")
     private String FAST_API_URL;
+    // true 면 FastAPI /portfolio/analyze 사용 (실패, 지연 시 로컬 PortfolioOptimizer 로 대체), false 면 로컬만 사용
+    @Value("${recommend.portfolio.remote-enabled:false}")
+    private boolean remotePortfolioEnabled;
+    // 추천 요청 전체 마감, 남은 시간만큼만 FastAPI 응답을 기다림
+    @Value("${recommend.deadline-millis:5000}")
+    private long deadlineMillis;
 
     private final UserAccountsRepository userAccountsRepository;
     private final PensionProductRepository pensionProductRepository;
     private final ProductDetailRepository productDetailRepository;
     private final FastApiServiceImpl fastApiService;
-    private final PortfolioOptimizer portfolioOptimizer;
+    private final RecommendPortfolioSnapshot recommendPortfolioSnapshot;
 
     /**
      * 상품을 비교하여 추천
@@ -42,51 +50,55 @@ public class RecommendCompareServiceImpl implements RecommendCompareService {
      */
     @Override
     public RecommendCompareResponseDto recommendCompare(String email, RecommendCompareRequestDto request, Boolean dc) {
-        try {
-            // 투자 성향 가져오기
-            UserAccountsDto user = userAccountsRepository.selectByUserEmail(email)
-                    .orElse(null);
-            Long investorPersonalityId = (user == null || user.getRiskGradeId() == null) ? request.getInvestorPersonalityId() : user.getRiskGradeId();
-            if(investorPersonalityId == null) throw new IllegalArgumentException("Bad Request");
-            if(!dc) request.accYear();
-            else request.divYear();
-            Long userSalary = request.getSalary();
-            if(userSalary == null) throw new IllegalArgumentException("Bad Request");
-            // DB
-            Long[] dbCalculateGraph = calculatePredictionRetirePension(userSalary, 0.041, user == null ? 0 : user.getTotalRetirePension());       // 임시로 24년도 기준 복리 적용
-            Long dbCalculate = dbCalculateGraph[3];         // 최종 예상 퇴직연금
-            RecommendPortfolioRequest fastApiRequest = RecommendPortfolioRequest.builder()
-                    .riskGradeId(investorPersonalityId + (dc ? 1 : -1))     // DC 형은 조금 더 공격적인 투자, IRP 는 조금 소극적인 투자
-                    .salary(userSalary)
-                    .totalRetirePension(user == null ? null : user.getTotalRetirePension())
-                    .build();
-            fastApiRequest.limitFieldRange();
+        Deadline deadline = Deadline.after(Duration.ofMillis(deadlineMillis));
+        // 투자 성향 가져오기
+        UserAccountsDto user = userAccountsRepository.selectByUserEmail(email)
+                .orElse(null);
+        Long investorPersonalityId = (user == null || user.getRiskGradeId() == null) ? request.getInvestorPersonalityId() : user.getRiskGradeId();
+        if(investorPersonalityId == null) throw new IllegalArgumentException("Bad Request");
+        if(!dc) request.accYear();
+        else request.divYear();
+        Long userSalary = request.getSalary();
+        if(userSalary == null) throw new IllegalArgumentException("Bad Request");
+        // DB
+        Long[] dbCalculateGraph = calculatePredictionRetirePension(userSalary, 0.041, user == null ? 0 : user.getTotalRetirePension());       // 임시로 24년도 기준 복리 적용
+        Long dbCalculate = dbCalculateGraph[3];         // 최종 예상 퇴직연금
+        RecommendPortfolioRequest fastApiRequest = RecommendPortfolioRequest.builder()
+                .riskGradeId(investorPersonalityId + (dc ? 1 : -1))     // DC 형은 조금 더 공격적인 투자, IRP 는 조금 소극적인 투자
+                .salary(userSalary)
+                .totalRetirePension(user == null ? null : user.getTotalRetirePension())
+                .build();
+        fastApiRequest.limitFieldRange();
+        // DC
+        Double dcCalculateRate;
+        List<RecommendProductDto> recommendProductList;
+        if(remotePortfolioEnabled) {
+            // FastAPI 는 연봉 / 적립금도 입력으로 받으므로 요청마다 계산
             fastApiRequest.setProductList(productDetailRepository.selectProductForRecommend(fastApiRequest.getRiskGradeId()));
-            // DC
-//            RecommendPortfolioResponse recommendPortfolioResponse = fastApiService.getRecommendPortfolio(fastApiRequest);
-            RecommendPortfolioResponse recommendPortfolioResponse = portfolioOptimizer.optimize(fastApiRequest.getProductList());
-            Long[] dcCalculateGraph = calculatePredictionRetirePension(userSalary, recommendPortfolioResponse.getTotalExpectedReturn(), user == null ? 0 : user.getTotalRetirePension());
-            Long dcCalculate = dcCalculateGraph[3];
-            List<RecommendProductDto> recommendProductList = new ArrayList<>();
-            recommendPortfolioResponse.getAllocations().forEach((product) -> {
+            RecommendPortfolioResponse recommendPortfolioResponse = fastApiService.getRecommendPortfolio(fastApiRequest, deadline);
+            dcCalculateRate = recommendPortfolioResponse.getTotalExpectedReturn();
+            recommendProductList = new ArrayList<>();
+            for (AllocationDto product : recommendPortfolioResponse.getAllocations()) {
                 recommendProductList.add(pensionProductRepository.selectProductById(product.getAssetCode())
                         .orElse(null));
-            });
-
-            Thread.sleep(1000*2);
-
-            return RecommendCompareResponseDto.builder()
-                    .dbCalculate(dbCalculate)
-                    .dbCalculateRate(0.041)
-                    .dbCalculateGraph(dbCalculateGraph)
-                    .dcCalculate(dcCalculate)
-                    .dcCalculateRate(recommendPortfolioResponse.getTotalExpectedReturn())
-                    .dcCalculateGraph(dcCalculateGraph)
-                    .recommendProductList(recommendProductList)
-                    .build();
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+            }
+        } else {
+            // 로컬 최적화 결과는 위험 등급에만 의존하므로 스냅샷 사용
+            RecommendPortfolioSnapshot.RecommendPortfolio portfolio = recommendPortfolioSnapshot.get(fastApiRequest.getRiskGradeId());
+            dcCalculateRate = portfolio.totalExpectedReturn();
+            recommendProductList = portfolio.recommendProductList();
         }
+        Long[] dcCalculateGraph = calculatePredictionRetirePension(userSalary, dcCalculateRate, user == null ? 0 : user.getTotalRetirePension());
+        Long dcCalculate = dcCalculateGraph[3];
+        return RecommendCompareResponseDto.builder()
+                .dbCalculate(dbCalculate)
+                .dbCalculateRate(0.041)
+                .dbCalculateGraph(dbCalculateGraph)
+                .dcCalculate(dcCalculate)
+                .dcCalculateRate(dcCalculateRate)
+                .dcCalculateGraph(dcCalculateGraph)
+                .recommendProductList(recommendProductList)
+                .build();
     }
 
     @Override
@@ -0,0 +1,13 @@
+package com.ygss.backend.recommend.service;
+
+import com.ygss.backend.recommend.dto.RecommendCompareRequestDto;
+import com.ygss.backend.recommend.dto.RecommendJobResponseDto;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+public interface RecommendJobService {
+    RecommendJobResponseDto submit(String email, RecommendCompareRequestDto request, Boolean dc);
+    Optional<RecommendJobResponseDto> getJob(String jobId, String email);
+    Mono<RecommendJobResponseDto> awaitJob(String jobId, String email);
+}
@@ -0,0 +1,142 @@
+package com.ygss.backend.recommend.service;
+
+import com.ygss.backend.recommend.dto.RecommendCompareRequestDto;
+import com.ygss.backend.recommend.dto.RecommendCompareResponseDto;
+import com.ygss.backend.recommend.dto.RecommendJobResponseDto;
+import com.ygss.backend.recommend.dto.RecommendJobStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 추천 비교를 작업(job) 으로 실행
+ * 요청 스레드는 작업 등록만 하고 바로 반환, 계산은 pool-size 개 스레드의 전용 풀에서 실행한다.
+ * - 대기열(queue-capacity)이 가득 차면 RejectedExecutionException (호출 측에서 503)
+ * - 결과는 ttl-seconds 동안 메모리에 보관 후 삭제 (인스턴스 로컬)
+ * - 작업은 요청한 사용자(비로그인은 비로그인 요청)만 조회 가능
+ */
+@Slf4j
+@Service
+public class RecommendJobServiceImpl implements RecommendJobService {
+    private final RecommendCompareServiceImpl recommendCompareService;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<String, RecommendJob> jobs = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public RecommendJobServiceImpl(RecommendCompareServiceImpl recommendCompareService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${recommend.job.pool-size:4}") int poolSize,
+                                   @Value("${recommend.job.queue-capacity:200}") int queueCapacity,
+                                   @Value("${recommend.job.ttl-seconds:300}") long ttlSeconds) {
+        this.recommendCompareService = recommendCompareService;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("recommend-job-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        Gauge.builder("recommend.job.queue", executor, (pool) -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("recommend.job.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("recommend.job.stored", jobs, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    @Override
+    public RecommendJobResponseDto submit(String email, RecommendCompareRequestDto request, Boolean dc) {
+        RecommendJob job = new RecommendJob(UUID.randomUUID().toString(), email);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, request, dc));
+        } catch (RuntimeException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        return toDto(job);
+    }
+
+    private void run(RecommendJob job, RecommendCompareRequestDto request, Boolean dc) {
+        job.status = RecommendJobStatus.RUNNING;
+        try {
+            job.result.complete(recommendCompareService.recommendCompare(job.email, request, dc));
+        } catch (Exception e) {
+            log.error("Recommend Job Failed : {}", e.getMessage());
+            job.result.completeExceptionally(e);
+        } finally {
+            job.finishedAt = System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public Optional<RecommendJobResponseDto> getJob(String jobId, String email) {
+        return findJob(jobId, email).map(this::toDto);
+    }
+
+    /**
+     * 작업이 끝나면(DONE / FAILED) 한 번 발행, 없는 작업이면 empty
+     */
+    @Override
+    public Mono<RecommendJobResponseDto> awaitJob(String jobId, String email) {
+        return Mono.justOrEmpty(findJob(jobId, email))
+                .flatMap((job) -> Mono.fromFuture(job.result.exceptionally((e) -> null).thenApply((result) -> toDto(job))));
+    }
+
+    private Optional<RecommendJob> findJob(String jobId, String email) {
+        RecommendJob job = jobs.get(jobId);
+        if (job == null || !Objects.equals(job.email, email)) return Optional.empty();
+        return Optional.of(job);
+    }
+
+    private RecommendJobResponseDto toDto(RecommendJob job) {
+        // 완료 여부는 future 기준 (status 필드는 대기 / 실행 중 구분용)
+        RecommendJobStatus status = !job.result.isDone() ? job.status
+                : job.result.isCompletedExceptionally() ? RecommendJobStatus.FAILED : RecommendJobStatus.DONE;
+        return RecommendJobResponseDto.builder()
+                .jobId(job.id)
+                .status(status)
+                .result(status == RecommendJobStatus.DONE ? job.result.getNow(null) : null)
+                .message(status == RecommendJobStatus.FAILED ? "추천 결과를 계산하지 못했어요." : null)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${recommend.job.evict-interval-millis:60000}")
+    public void evictExpired() {
+        long expiredBefore = System.currentTimeMillis() - ttlMillis;
+        jobs.values().removeIf((job) -> job.finishedAt > 0 && job.finishedAt < expiredBefore);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) executor.shutdownNow();
+    }
+
+    private static final class RecommendJob {
+        private final String id;
+        private final String email;
+        private final CompletableFuture<RecommendCompareResponseDto> result = new CompletableFuture<>();
+        // PENDING / RUNNING
+        private volatile RecommendJobStatus status = RecommendJobStatus.PENDING;
+        private volatile long finishedAt;
+
+        private RecommendJob(String id, String email) {
+            this.id = id;
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.ygss.backend.chatbot.rerank;
+
+import com.ygss.backend.chatbot.dto.AnswerDto;
+import com.ygss.backend.chatbot.dto.CompareRequestDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RerankBatcherTest {
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final List<List<CompareRequestDto>> sent = new CopyOnWriteArrayList<>();
+
+    private static AnswerDto answer(long termId) {
+        AnswerDto answer = new AnswerDto();
+        answer.setTermId(termId);
+        answer.setAnswer("답변 " + termId);
+        return answer;
+    }
+
+    /**
+     * 질문마다 첫 후보만 돌려주는 배치 호출
+     */
+    private Mono<List<List<AnswerDto>>> echoFirst(List<CompareRequestDto> requests) {
+        sent.add(requests);
+        return Mono.just(requests.stream()
+                .map((request) -> List.of(request.getCandidateList().get(0)))
+                .toList());
+    }
+
+    private RerankBatcher batcher(Function<List<CompareRequestDto>, Mono<List<List<AnswerDto>>>> sender,
+                                  long windowMillis, int maxBatchSize) {
+        return new RerankBatcher(sender, windowMillis, maxBatchSize, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void requestsWithinWindowShareOneCall() {
+        RerankBatcher batcher = batcher(this::echoFirst, 200, 16);
+
+        List<List<AnswerDto>> results = Mono.zip(
+                batcher.submit("q1", List.of(answer(1L), answer(9L))),
+                batcher.submit("q2", List.of(answer(2L))),
+                batcher.submit("q3", List.of(answer(3L)))
+        ).map((tuple) -> List.of(tuple.getT1(), tuple.getT2(), tuple.getT3())).block(WAIT);
+
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0)).extracting(CompareRequestDto::getQuestion).containsExactly("q1", "q2", "q3");
+        // 요청 순서대로 자기 결과를 받음
+        assertThat(results).extracting((result) -> result.get(0).getTermId()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForWindow() {
+        RerankBatcher batcher = batcher(this::echoFirst, 60_000, 2);
+
+        List<AnswerDto> first = Mono.zip(
+                batcher.submit("q1", List.of(answer(1L))),
+                batcher.submit("q2", List.of(answer(2L)))
+        ).map((tuple) -> tuple.getT1()).block(WAIT);
+
+        assertThat(first).extracting(AnswerDto::getTermId).containsExactly(1L);
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0)).hasSize(2);
+    }
+
+    @Test
+    void requestMissingFromResultFailsInsteadOfHanging() {
+        // 두 질문을 보냈는데 결과는 하나만 옴
+        RerankBatcher batcher = batcher((requests) -> {
+            sent.add(requests);
+            return Mono.just(List.of(List.of(answer(1L))));
+        }, 60_000, 2);
+
+        Mono<List<AnswerDto>> first = batcher.submit("q1", List.of(answer(1L))).cache();
+        Mono<List<AnswerDto>> second = batcher.submit("q2", List.of(answer(2L))).cache();
+        first.subscribe();
+        second.subscribe((result) -> { }, (e) -> { });
+
+        assertThat(first.block(WAIT)).extracting(AnswerDto::getTermId).containsExactly(1L);
+        assertThatThrownBy(() -> second.block(WAIT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Rerank Batch Result Missing");
+    }
+
+    @Test
+    void emptyBatchResponseFailsAllRequests() {
+        RerankBatcher batcher = batcher((requests) -> Mono.empty(), 10, 16);
+
+        assertThatThrownBy(() -> batcher.submit("q1", List.of(answer(1L))).block(WAIT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Rerank Batch Result Missing");
+    }
+
+    @Test
+    void batchFailureIsPropagatedToEveryRequest() {
+        RerankBatcher batcher = batcher((requests) -> Mono.error(new IllegalArgumentException("boom")), 60_000, 2);
+
+        Mono<List<AnswerDto>> first = batcher.submit("q1", List.of(answer(1L))).cache();
+        Mono<List<AnswerDto>> second = batcher.submit("q2", List.of(answer(2L))).cache();
+        first.subscribe((result) -> { }, (e) -> { });
+        second.subscribe((result) -> { }, (e) -> { });
+
+        assertThatThrownBy(() -> first.block(WAIT)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> second.block(WAIT)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
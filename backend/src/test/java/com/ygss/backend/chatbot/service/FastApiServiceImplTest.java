@@ -0,0 +1,164 @@
+package com.ygss.backend.chatbot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ygss.backend.chatbot.dto.AnswerDto;
+import com.ygss.backend.global.resilience.ExternalCallGuard;
+import com.ygss.backend.recommend.component.PortfolioOptimizer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FastApiServiceImplTest {
+    private static final String BASE_URL = "http://fastapi.test";
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 호출된 경로 순서
+    private final List<String> paths = new CopyOnWriteArrayList<>();
+
+    private static AnswerDto answer(long termId) {
+        AnswerDto answer = new AnswerDto();
+        answer.setTermId(termId);
+        answer.setAnswer("답변 " + termId);
+        return answer;
+    }
+
+    /**
+     * 질문 "q{n}" 의 rerank 결과는 termId n 하나
+     */
+    private static long termIdOf(String question) {
+        return Long.parseLong(question.substring(1));
+    }
+
+    private FastApiServiceImpl service(Function<ClientRequest, Mono<ClientResponse>> exchange, boolean batchEnabled) {
+        WebClient client = WebClient.builder()
+                .exchangeFunction((request) -> {
+                    paths.add(request.url().getPath());
+                    return exchange.apply(request);
+                })
+                .build();
+        ExternalCallGuard guard = new ExternalCallGuard(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                32, 5000, 64, 20000, false);
+        return new FastApiServiceImpl(client, objectMapper, new SimpleMeterRegistry(), guard, new PortfolioOptimizer(),
+                BASE_URL, batchEnabled, 200, 16);
+    }
+
+    /**
+     * 배치 window 플러시는 parallel 스케줄러에서 실행되므로 block 없이 읽는다
+     */
+    private Mono<JsonNode> body(ClientRequest request) {
+        MockClientHttpRequest written = new MockClientHttpRequest(request.method(), request.url());
+        return request.writeTo(written, ExchangeStrategies.withDefaults())
+                .then(Mono.defer(written::getBodyAsString))
+                .map((json) -> {
+                    try {
+                        return objectMapper.readTree(json);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+    }
+
+    private Mono<ClientResponse> json(Object results) {
+        try {
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(objectMapper.writeValueAsString(Map.of("results", results)))
+                    .build());
+        } catch (Exception e) {
+            return Mono.error(e);
+        }
+    }
+
+    private Mono<ClientResponse> singleCompare(ClientRequest request) {
+        return body(request).flatMap((body) -> json(List.of(answer(termIdOf(body.get("question").asText())))));
+    }
+
+    private List<List<AnswerDto>> rerankTogether(FastApiServiceImpl service, String... questions) {
+        List<Mono<List<AnswerDto>>> calls = new ArrayList<>();
+        for (String question : questions) {
+            calls.add(service.getAccurateListMono(question, List.of(answer(0L), answer(99L))));
+        }
+        return Mono.zip(calls, (results) -> {
+            List<List<AnswerDto>> list = new ArrayList<>();
+            for (Object result : results) {
+                @SuppressWarnings("unchecked")
+                List<AnswerDto> answers = (List<AnswerDto>) result;
+                list.add(answers);
+            }
+            return list;
+        }).block(WAIT);
+    }
+
+    @Test
+    void batchResultsAreReturnedPerRequest() {
+        FastApiServiceImpl service = service((request) -> body(request).flatMap((body) -> {
+            List<List<AnswerDto>> results = new ArrayList<>();
+            for (JsonNode item : body.get("items")) {
+                results.add(List.of(answer(termIdOf(item.get("question").asText()))));
+            }
+            return json(results);
+        }), true);
+
+        List<List<AnswerDto>> results = rerankTogether(service, "q1", "q2", "q3");
+
+        assertThat(paths).containsExactly("/server/compare/batch");
+        assertThat(results).extracting((result) -> result.get(0).getTermId()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void missingBatchEndpointFallsBackToSingleCompare() {
+        FastApiServiceImpl service = service((request) -> request.url().getPath().endsWith("/batch")
+                ? Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build())
+                : singleCompare(request), true);
+
+        List<List<AnswerDto>> results = rerankTogether(service, "q1", "q2");
+
+        assertThat(paths).containsExactly("/server/compare/batch", "/server/compare", "/server/compare");
+        assertThat(results).extracting((result) -> result.get(0).getTermId()).containsExactly(1L, 2L);
+
+        // 한 번 404 를 받은 뒤에는 배치 엔드포인트를 다시 부르지 않음
+        paths.clear();
+        assertThat(rerankTogether(service, "q3")).extracting((result) -> result.get(0).getTermId()).containsExactly(3L);
+        assertThat(paths).containsExactly("/server/compare");
+    }
+
+    @Test
+    void failedRerankFallsBackToBiEncoderOrder() {
+        FastApiServiceImpl service = service((request) -> Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()), false);
+
+        List<List<AnswerDto>> results = rerankTogether(service, "q1");
+
+        assertThat(results.get(0)).extracting(AnswerDto::getTermId).containsExactly(0L, 99L);
+    }
+
+    @Test
+    void convertToJsonReadsResultsAndToleratesMalformedBody() {
+        FastApiServiceImpl service = service((request) -> Mono.error(new IllegalStateException("unused")), false);
+
+        assertThat(service.convertToJson("{\"results\":[{\"termId\":5,\"answer\":\"a\",\"score\":0.9}]}"))
+                .extracting(AnswerDto::getTermId).containsExactly(5L);
+        assertThat(service.convertToJson("not json")).isEmpty();
+        assertThat(service.convertToJson("{}")).isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package com.ygss.backend.chatbot.term;
+
+import com.ygss.backend.chatbot.dto.TermDictionaryResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TermAutomatonTest {
+
+    private static TermDictionaryResponseDto term(long id, String name) {
+        TermDictionaryResponseDto term = new TermDictionaryResponseDto();
+        term.setId(id);
+        term.setTerm(name);
+        term.setDesc(name + " 설명");
+        return term;
+    }
+
+    @Test
+    void findIgnoresCase() {
+        TermAutomaton automaton = TermAutomaton.build(List.of(term(1L, "ETF"), term(2L, "IRP")));
+
+        List<TermAutomaton.TermMatch> matches = automaton.find("etf랑 Irp 차이");
+
+        assertThat(matches).extracting(match -> match.term().getId()).containsExactly(1L, 2L);
+        assertThat(matches.get(1).start()).isEqualTo(5);
+        assertThat(matches.get(1).end()).isEqualTo(8);
+    }
+
+    @Test
+    void findKeepsOffsetsWhenLowerCaseChangesLength() {
+        // "İ".toLowerCase(Locale.ROOT) 는 두 글자 (i + 결합 점)
+        TermAutomaton automaton = TermAutomaton.build(List.of(term(1L, "IRP")));
+        String question = "İİ IRP가 뭐야";
+
+        List<TermAutomaton.TermMatch> matches = automaton.find(question);
+
+        assertThat(matches).hasSize(1);
+        assertThat(question.substring(matches.get(0).start(), matches.get(0).end())).isEqualTo("IRP");
+    }
+
+    @Test
+    void findSkipsAsciiTermInsideLongerWord() {
+        TermAutomaton automaton = TermAutomaton.build(List.of(term(1L, "DC"), term(2L, "채권")));
+
+        List<TermAutomaton.TermMatch> matches = automaton.find("DCA 로 채권을 사면?");
+
+        assertThat(matches).extracting(match -> match.term().getId()).containsExactly(2L);
+    }
+
+    @Test
+    void findPrefersLongestAtSamePosition() {
+        TermAutomaton automaton = TermAutomaton.build(List.of(term(1L, "연금"), term(2L, "연금저축")));
+
+        List<TermAutomaton.TermMatch> matches = automaton.find("연금저축 세액공제");
+
+        assertThat(matches).extracting(match -> match.term().getId()).containsExactly(2L);
+    }
+}
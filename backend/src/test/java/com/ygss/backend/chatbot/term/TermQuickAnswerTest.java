@@ -0,0 +1,58 @@
+package com.ygss.backend.chatbot.term;
+
+import com.ygss.backend.chatbot.dto.TermDictionaryResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TermQuickAnswerTest {
+    private final TermDic termDic = new TermDic();
+    private final TermQuickAnswer quickAnswer = new TermQuickAnswer(termDic, new SimpleMeterRegistry(), true, 30);
+    private final TermAutomaton automaton = TermAutomaton.build(List.of(term(1L, "IRP"), term(2L, "연금저축")));
+
+    private static TermDictionaryResponseDto term(long id, String name) {
+        TermDictionaryResponseDto term = new TermDictionaryResponseDto();
+        term.setId(id);
+        term.setTerm(name);
+        term.setDesc(name + " 설명");
+        return term;
+    }
+
+    private String answer(String question) {
+        return quickAnswer.answer(question, automaton.find(question));
+    }
+
+    @Test
+    void answersDefinitionQuestions() {
+        String expected = termDic.getTermMap().get("IRP");
+
+        assertThat(answer("IRP가 뭐야?")).isEqualTo(expected);
+        assertThat(answer("irp 뜻이 뭔가요")).isEqualTo(expected);
+        assertThat(answer("IRP란")).isEqualTo(expected);
+        assertThat(answer("IRP는요?")).isEqualTo(expected);
+        assertThat(answer("연금저축이란 무엇인가요")).isEqualTo("연금저축 : 연금저축 설명");
+    }
+
+    @Test
+    void particlesAreOnlyStrippedRightAfterTerm() {
+        // 예전에는 "은", "는", "이", "가", "요" 를 위치와 상관없이 지워서 아래도 정의 질문으로 처리됨
+        assertThat(answer("요가 IRP")).isNull();
+        assertThat(answer("IRP 뭐야 가이요")).isNull();
+        assertThat(answer("IRP는 이가 뭐야")).isNull();
+    }
+
+    @Test
+    void ignoresQuestionsWithOtherContent() {
+        assertThat(answer("IRP 해지하면 세금이 얼마야")).isNull();
+        assertThat(answer("IRP랑 연금저축 차이가 뭐야")).isNull();
+    }
+
+    @Test
+    void keepsOffsetsWhenLowerCaseChangesLength() {
+        // 매칭 위치가 한 글자 밀리면 앞에 "I" 가 남아 답하지 못했음
+        assertThat(answer("İ IRP가 뭐야")).isEqualTo(termDic.getTermMap().get("IRP"));
+    }
+}
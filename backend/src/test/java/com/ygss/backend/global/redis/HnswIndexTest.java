@@ -0,0 +1,90 @@
+package com.ygss.backend.global.redis;
+
+import com.ygss.backend.chatbot.dto.SearchResultDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HnswIndexTest {
+    private static final int DIMENSION = 64;
+    private static final int SIZE = 3000;
+    private static final int QUERIES = 100;
+    private static final int K = 10;
+
+    private final Random random = new Random(42L);
+    private final VectorIndex exact = randomIndex();
+    private final HnswIndex hnsw = HnswIndex.build(exact, 16, 200, 64, 42L);
+
+    private VectorIndex randomIndex() {
+        VectorIndex.Builder builder = VectorIndex.builder();
+        for (int row = 0; row < SIZE; row++) {
+            builder.add("term", row, row, "Q", randomVector());
+        }
+        return builder.build();
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) vector[i] = (float) random.nextGaussian();
+        return vector;
+    }
+
+    private static Set<Long> ids(List<SearchResultDto> results) {
+        Set<Long> ids = new HashSet<>();
+        results.forEach((result) -> ids.add(result.getId()));
+        return ids;
+    }
+
+    private double recall(int ef) {
+        Random queries = new Random(7L);
+        double recall = 0.0;
+        for (int q = 0; q < QUERIES; q++) {
+            float[] query = new float[DIMENSION];
+            for (int i = 0; i < DIMENSION; i++) query[i] = (float) queries.nextGaussian();
+            query = VectorMath.normalize(query);
+
+            Set<Long> expected = ids(exact.search(query, K, -1.0));
+            Set<Long> actual = ids(hnsw.search(query, K, -1.0, ef));
+            actual.retainAll(expected);
+            recall += (double) actual.size() / expected.size();
+        }
+        return recall / QUERIES;
+    }
+
+    @Test
+    void recallAgainstExactSearch() {
+        // 근접 이웃이 따로 없는 무작위 질의라 실제 임베딩보다 어려운 조건
+        assertThat(recall(64)).isGreaterThanOrEqualTo(0.9);
+        assertThat(recall(256)).isGreaterThanOrEqualTo(0.98);
+    }
+
+    @Test
+    void largerEfDoesNotLowerRecall() {
+        assertThat(recall(128)).isGreaterThanOrEqualTo(recall(16));
+    }
+
+    @Test
+    void storedVectorIsItsOwnNearestNeighbor() {
+        for (int row = 0; row < SIZE; row += 97) {
+            List<SearchResultDto> result = hnsw.search(exact.vectorAt(row), 1, -1.0);
+            assertThat(result.get(0).getId()).isEqualTo((long) row);
+            assertThat(result.get(0).getSimilarity()).isCloseTo(1.0, within(1e-5));
+        }
+    }
+
+    @Test
+    void resultsAreSortedAndRespectMinSimilarity() {
+        float[] query = exact.vectorAt(0);
+        List<SearchResultDto> result = hnsw.search(query, K, 0.2);
+        for (int i = 0; i < result.size(); i++) {
+            assertThat(result.get(i).getSimilarity()).isGreaterThanOrEqualTo(0.2);
+            if (i > 0) assertThat(result.get(i).getSimilarity()).isLessThanOrEqualTo(result.get(i - 1).getSimilarity());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ygss.backend.global.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class Int8VectorCodecTest {
+    private static final int DIMENSION = 1536;
+
+    private final Random random = new Random(3L);
+
+    private float[] randomUnitVector() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) vector[i] = (float) random.nextGaussian();
+        return VectorMath.normalize(vector);
+    }
+
+    private static float maxAbs(float[] vector) {
+        float max = 0f;
+        for (float v : vector) max = Math.max(max, Math.abs(v));
+        return max;
+    }
+
+    @Test
+    void roundTripErrorIsWithinHalfStep() {
+        for (int trial = 0; trial < 20; trial++) {
+            float[] vector = randomUnitVector();
+            byte[] encoded = Int8VectorCodec.encode(vector);
+            float[] decoded = Int8VectorCodec.decode(encoded);
+
+            assertThat(encoded.length).isEqualTo(4 + DIMENSION);
+            assertThat(Int8VectorCodec.dimension(encoded)).isEqualTo(DIMENSION);
+            // 반올림 오차는 성분마다 scale / 2 이하
+            float halfStep = maxAbs(vector) / 127f / 2f;
+            for (int i = 0; i < DIMENSION; i++) {
+                assertThat(Math.abs(decoded[i] - vector[i])).isLessThanOrEqualTo(halfStep * 1.0001f);
+            }
+            // 복원 벡터와 원본의 코사인
+            assertThat((double) VectorMath.dot(VectorMath.normalize(decoded), vector)).isCloseTo(1.0, within(1e-3));
+        }
+    }
+
+    @Test
+    void largestComponentMapsToFullScale() {
+        float[] vector = {0.5f, -1.0f, 0.25f, 0f};
+        byte[] encoded = Int8VectorCodec.encode(vector);
+        byte[] codes = new byte[vector.length];
+        Int8VectorCodec.copyCodes(encoded, codes, 0);
+
+        assertThat((int) codes[1]).isEqualTo(-127);
+        assertThat(Int8VectorCodec.decode(encoded)).containsExactly(new float[]{0.5f, -1.0f, 0.25f, 0f}, within(1f / 127f));
+    }
+
+    @Test
+    void zeroVectorRoundTrips() {
+        float[] decoded = Int8VectorCodec.decode(Int8VectorCodec.encode(new float[8]));
+        assertThat(decoded).containsExactly(new float[8]);
+    }
+}
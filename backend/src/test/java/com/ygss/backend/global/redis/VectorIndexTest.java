@@ -0,0 +1,101 @@
+package com.ygss.backend.global.redis;
+
+import com.ygss.backend.chatbot.dto.SearchResultDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VectorIndexTest {
+    private static final int DIMENSION = 256;
+    private static final int SIZE = 2000;
+    private static final int QUERIES = 50;
+    private static final int K = 10;
+    // VectorRepository 의 vector.quantization.rescore-factor 기본값
+    private static final int RESCORE_FACTOR = 4;
+
+    private final Random random = new Random(7L);
+    private final float[][] vectors = randomVectors(SIZE);
+    private final VectorIndex full = index(false);
+    private final VectorIndex quantized = index(true);
+
+    private float[][] randomVectors(int count) {
+        float[][] result = new float[count][DIMENSION];
+        for (float[] vector : result) {
+            for (int i = 0; i < DIMENSION; i++) vector[i] = (float) random.nextGaussian();
+        }
+        return result;
+    }
+
+    private VectorIndex index(boolean q8) {
+        VectorIndex.Builder builder = VectorIndex.builder(q8);
+        for (int row = 0; row < vectors.length; row++) {
+            builder.add("term", row, row, "Q", vectors[row]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 저장된 벡터에 잡음을 섞은 질의 (실제 질문처럼 가까운 이웃이 있는 경우)
+     */
+    private float[] query(int seedRow) {
+        float[] query = vectors[seedRow].clone();
+        for (int i = 0; i < DIMENSION; i++) query[i] += (float) (random.nextGaussian() * 0.8);
+        return VectorMath.normalize(query);
+    }
+
+    private static Set<Long> ids(List<SearchResultDto> results) {
+        Set<Long> ids = new HashSet<>();
+        results.forEach((result) -> ids.add(result.getId()));
+        return ids;
+    }
+
+    @Test
+    void quantizedIndexKeepsLayout() {
+        assertThat(quantized.isQuantized()).isTrue();
+        assertThat(full.isQuantized()).isFalse();
+        assertThat(quantized.size()).isEqualTo(SIZE);
+        assertThat(quantized.dimension()).isEqualTo(DIMENSION);
+    }
+
+    @Test
+    void int8SimilarityStaysWithinErrorBound() {
+        double maxError = 0.0;
+        for (int q = 0; q < QUERIES; q++) {
+            float[] query = query(q);
+            for (int row = 0; row < SIZE; row++) {
+                maxError = Math.max(maxError, Math.abs(quantized.similarity(query, row) - full.similarity(query, row)));
+            }
+        }
+        // 벡터별 scale = max|x| / 127, 256 차원 단위 벡터에서 코사인 오차는 최대 3e-3 수준
+        assertThat(maxError).isLessThanOrEqualTo(0.01);
+    }
+
+    @Test
+    void int8TopKRecallAgainstFloat32() {
+        double recall = 0.0;
+        for (int q = 0; q < QUERIES; q++) {
+            float[] query = query(q);
+            Set<Long> expected = ids(full.search(query, K, -1.0));
+            Set<Long> actual = ids(quantized.search(query, K, -1.0));
+            actual.retainAll(expected);
+            recall += (double) actual.size() / expected.size();
+        }
+        assertThat(recall / QUERIES).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void rescoreCandidatesContainFloat32TopK() {
+        // 양자화 점수로 뽑은 k * rescore-factor 개 안에 float32 Top K 가 모두 있어야 재채점으로 복원 가능
+        for (int q = 0; q < QUERIES; q++) {
+            float[] query = query(q);
+            Set<Long> expected = ids(full.search(query, K, -1.0));
+            Set<Long> candidates = ids(quantized.search(query, K * RESCORE_FACTOR, -1.0));
+            assertThat(candidates.containsAll(expected)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ygss.backend.global.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VectorMathTest {
+    private final Random random = new Random(11L);
+
+    private float[] randomVector(int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) vector[i] = (float) (random.nextGaussian() * 3.0);
+        return vector;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0.0, normA = 0.0, normB = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dot += (double) a[i] * b[i];
+            normA += (double) a[i] * a[i];
+            normB += (double) b[i] * b[i];
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+
+    @Test
+    void dotOfNormalizedVectorsEqualsCosine() {
+        // 1536 : 임베딩 차원, 7 : SIMD 폭의 배수가 아닌 꼬리 처리 확인
+        for (int dimension : new int[]{7, 1536}) {
+            for (int trial = 0; trial < 20; trial++) {
+                float[] a = randomVector(dimension);
+                float[] b = randomVector(dimension);
+                assertThat((double) VectorMath.dot(VectorMath.normalize(a), VectorMath.normalize(b)))
+                        .isCloseTo(cosine(a, b), within(1e-5));
+            }
+        }
+    }
+
+    @Test
+    void normalizeReturnsUnitVectorWithoutTouchingInput() {
+        float[] vector = randomVector(1536);
+        float[] original = vector.clone();
+
+        float[] normalized = VectorMath.normalize(vector);
+
+        assertThat((double) VectorMath.dot(normalized, normalized)).isCloseTo(1.0, within(1e-5));
+        assertThat(vector).containsExactly(original);
+    }
+
+    @Test
+    void zeroVectorStaysZero() {
+        float[] normalized = VectorMath.normalize(new float[4]);
+        assertThat(normalized).containsExactly(0f, 0f, 0f, 0f);
+    }
+
+    @Test
+    void offsetDotMatchesScalarDot() {
+        // 행렬(row-major) 안의 한 행과 질의의 내적
+        float[] query = randomVector(37);
+        float[] matrix = randomVector(37 * 3);
+        float expected = VectorMath.scalarDot(query, 0, matrix, 37 * 2, 37);
+        assertThat(VectorMath.dot(query, 0, matrix, 37 * 2, 37)).isCloseTo(expected, within(1e-3f));
+    }
+}
@@ -0,0 +1,177 @@
+package com.ygss.backend.global.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ygss.backend.global.resilience.ExternalCallGuard.FASTAPI;
+import static com.ygss.backend.global.resilience.ExternalCallGuard.GMS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExternalCallGuardTest {
+    private static final Duration WAIT = Duration.ofSeconds(5);
+    // 최근 4 번 중 절반 이상 실패하면 open
+    private static final int WINDOW = 4;
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private static ExternalCallGuard guard(int maxConcurrentCalls, long timeoutMillis) {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(WINDOW)
+                .minimumNumberOfCalls(WINDOW)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        return new ExternalCallGuard(circuitBreakerRegistry, BulkheadRegistry.ofDefaults(),
+                maxConcurrentCalls, timeoutMillis, maxConcurrentCalls, timeoutMillis, false);
+    }
+
+    private static ExternalCallGuard guard() {
+        return guard(8, 5000);
+    }
+
+    /**
+     * 오류로 끝나면 그 오류, 정상 종료면 null (block 이 checked 예외를 감싸지 않도록)
+     */
+    private static Throwable error(Mono<?> mono) {
+        return mono.then(Mono.<Throwable>empty()).onErrorResume(Mono::just).block(WAIT);
+    }
+
+    private Mono<String> counted(Mono<String> result) {
+        return Mono.defer(() -> {
+            invocations.incrementAndGet();
+            return result;
+        });
+    }
+
+    @Test
+    void callReturnsResultWithinLimits() throws Exception {
+        assertThat(guard().call(GMS, () -> "ok")).isEqualTo("ok");
+        assertThat(guard().mono(FASTAPI, Mono.just("ok")).block(WAIT)).isEqualTo("ok");
+    }
+
+    @Test
+    void callFailsFastWhenDeadlineAlreadyExpired() {
+        Deadline expired = Deadline.after(Duration.ZERO);
+
+        assertThatThrownBy(() -> guard().call(GMS, expired, invocations::incrementAndGet))
+                .isInstanceOf(TimeoutException.class)
+                .hasMessageContaining("Deadline Exceeded");
+        assertThat(invocations.get()).isZero();
+    }
+
+    @Test
+    void monoFailsFastWhenDeadlineAlreadyExpired() {
+        Mono<String> guarded = guard().mono(FASTAPI, counted(Mono.just("ok")))
+                .contextWrite(Deadline.after(Duration.ZERO).attach());
+
+        assertThat(error(guarded)).isInstanceOf(TimeoutException.class).hasMessageContaining("Deadline Exceeded");
+        assertThat(invocations.get()).isZero();
+    }
+
+    @Test
+    void callTimesOutAtRemainingDeadline() {
+        // 호출별 제한(5초)보다 Deadline 이 먼저 끝남
+        Deadline deadline = Deadline.after(Duration.ofMillis(100));
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> guard().call(GMS, deadline, () -> {
+            Thread.sleep(5_000);
+            return "late";
+        })).isInstanceOf(TimeoutException.class);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    void callIsRejectedWhenBulkheadIsFull() throws Exception {
+        ExternalCallGuard guard = guard(1, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return guard.call(GMS, () -> {
+                    started.countDown();
+                    release.await();
+                    return "first";
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> guard.call(GMS, invocations::incrementAndGet))
+                .isInstanceOf(BulkheadFullException.class);
+        assertThat(invocations.get()).isZero();
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        // 자리가 나면 다시 통과
+        assertThat(guard.call(GMS, () -> "second")).isEqualTo("second");
+    }
+
+    @Test
+    void monoIsRejectedWhenBulkheadIsFull() {
+        ExternalCallGuard guard = guard(1, 5000);
+        Disposable first = guard.mono(FASTAPI, Mono.<String>never()).subscribe();
+
+        assertThat(error(guard.mono(FASTAPI, counted(Mono.just("second"))))).isInstanceOf(BulkheadFullException.class);
+        assertThat(invocations.get()).isZero();
+
+        first.dispose();
+        assertThat(guard.mono(FASTAPI, Mono.just("third")).block(WAIT)).isEqualTo("third");
+    }
+
+    @Test
+    void callBreakerOpensAfterConfiguredFailures() {
+        ExternalCallGuard guard = guard();
+        for (int i = 0; i < WINDOW; i++) {
+            assertThatThrownBy(() -> guard.call(GMS, () -> {
+                invocations.incrementAndGet();
+                throw new IOException("down");
+            })).isInstanceOf(IOException.class);
+        }
+
+        assertThatThrownBy(() -> guard.call(GMS, invocations::incrementAndGet))
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(invocations.get()).isEqualTo(WINDOW);
+        // 의존성별 브레이커라 다른 쪽은 영향 없음
+        assertThat(guard.mono(FASTAPI, Mono.just("ok")).block(WAIT)).isEqualTo("ok");
+    }
+
+    @Test
+    void monoBreakerOpensAfterConfiguredFailures() {
+        ExternalCallGuard guard = guard();
+        for (int i = 0; i < WINDOW; i++) {
+            assertThat(error(guard.mono(FASTAPI, counted(Mono.error(new IOException("down"))))))
+                    .isInstanceOf(IOException.class);
+        }
+
+        assertThat(error(guard.mono(FASTAPI, counted(Mono.just("ok"))))).isInstanceOf(CallNotPermittedException.class);
+        assertThat(invocations.get()).isEqualTo(WINDOW);
+    }
+
+    @Test
+    void timeoutsCountAsBreakerFailures() {
+        ExternalCallGuard guard = guard(8, 50);
+        for (int i = 0; i < WINDOW; i++) {
+            assertThat(error(guard.mono(FASTAPI, Mono.<String>never()))).isInstanceOf(TimeoutException.class);
+        }
+
+        assertThat(error(guard.mono(FASTAPI, Mono.just("ok")))).isInstanceOf(CallNotPermittedException.class);
+    }
+}
@@ -0,0 +1,264 @@
+package com.ygss.backend.product.statistics;
+
+import com.ygss.backend.product.dto.ProductCorrelationResponseDto;
+import com.ygss.backend.product.dto.ProductDailyRateDto;
+import com.ygss.backend.product.dto.ProductReturnCoMomentDto;
+import com.ygss.backend.product.dto.ProductReturnStatisticsResponseDto;
+import com.ygss.backend.product.dto.ProductReturnStatsDto;
+import com.ygss.backend.product.repository.ProductPriceLogRespository;
+import com.ygss.backend.product.repository.ProductReturnStatsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReturnStatisticsEngineTest {
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final long[] PRODUCT_IDS = {1L, 2L, 3L};
+
+    /**
+     * price_log 와 저장된 통계 테이블을 메모리로 흉내 (조회 / upsert 만)
+     */
+    private static final class Database {
+        final List<ProductDailyRateDto> priceLog = new ArrayList<>();
+        final Map<Long, ProductReturnStatsDto> stats = new LinkedHashMap<>();
+        final Map<String, ProductReturnCoMomentDto> coMoments = new LinkedHashMap<>();
+        LocalDate watermark;
+        // selectDailyRatesBetween 의 after 인자 (조회 시작점 확인용)
+        final List<LocalDate> queriedAfter = new ArrayList<>();
+
+        void insert(long productId, LocalDate date, double dailyRate) {
+            ProductDailyRateDto row = new ProductDailyRateDto();
+            row.setProductId(productId);
+            row.setDate(date);
+            row.setDailyRate(dailyRate);
+            priceLog.add(row);
+        }
+
+        ReturnStatisticsEngine engine(int chunkDays) {
+            return engine(chunkDays, 14);
+        }
+
+        ReturnStatisticsEngine engine(int chunkDays, int lateDays) {
+            ProductPriceLogRespository priceLogRepository = mock(ProductPriceLogRespository.class);
+            when(priceLogRepository.selectLatestDate()).thenAnswer(invocation -> priceLog.stream()
+                    .map(ProductDailyRateDto::getDate).max(Comparator.naturalOrder()).orElse(null));
+            when(priceLogRepository.selectEarliestDate()).thenAnswer(invocation -> priceLog.stream()
+                    .map(ProductDailyRateDto::getDate).min(Comparator.naturalOrder()).orElse(null));
+            when(priceLogRepository.selectDailyRatesBetween(any(), any())).thenAnswer(invocation -> {
+                LocalDate after = invocation.getArgument(0);
+                LocalDate until = invocation.getArgument(1);
+                queriedAfter.add(after);
+                return priceLog.stream()
+                        .filter(row -> row.getDate().isAfter(after) && !row.getDate().isAfter(until))
+                        .sorted(Comparator.comparing(ProductDailyRateDto::getDate).thenComparing(ProductDailyRateDto::getProductId))
+                        .toList();
+            });
+
+            ProductReturnStatsRepository statsRepository = mock(ProductReturnStatsRepository.class);
+            when(statsRepository.selectAllStats()).thenAnswer(invocation -> new ArrayList<>(stats.values()));
+            when(statsRepository.selectAllCoMoments()).thenAnswer(invocation -> new ArrayList<>(coMoments.values()));
+            when(statsRepository.upsertStats(anyList())).thenAnswer(invocation -> {
+                List<ProductReturnStatsDto> rows = invocation.getArgument(0);
+                rows.forEach(row -> stats.put(row.getProductId(), row));
+                return rows.size();
+            });
+            when(statsRepository.upsertCoMoments(anyList())).thenAnswer(invocation -> {
+                List<ProductReturnCoMomentDto> rows = invocation.getArgument(0);
+                rows.forEach(row -> coMoments.put(row.getProductAId() + ":" + row.getProductBId(), row));
+                return rows.size();
+            });
+            when(statsRepository.selectWatermark()).thenAnswer(invocation -> watermark);
+            when(statsRepository.upsertWatermark(any())).thenAnswer(invocation -> {
+                watermark = invocation.getArgument(0);
+                return 1;
+            });
+
+            return new ReturnStatisticsEngine(priceLogRepository, statsRepository,
+                    new ReturnStatisticsStore(statsRepository), 0.01, 0.0, chunkDays, lateDays);
+        }
+    }
+
+    @Test
+    void lateRowsOfLaggingProductAreApplied() {
+        Database database = new Database();
+        Random random = new Random(21);
+        for (int day = 0; day < 10; day++) {
+            database.insert(1L, START.plusDays(day), random.nextGaussian());
+            // 상품 2 는 8일 치만 먼저 수집됨
+            if (day < 8) database.insert(2L, START.plusDays(day), random.nextGaussian());
+        }
+        ReturnStatisticsEngine engine = database.engine(90);
+        engine.update();
+        assertThat(engine.getStatistics(2L).orElseThrow().getObservations()).isEqualTo(8L);
+
+        database.insert(2L, START.plusDays(8), random.nextGaussian());
+        database.insert(2L, START.plusDays(9), random.nextGaussian());
+        engine.update();
+
+        ProductReturnStatisticsResponseDto lagging = engine.getStatistics(2L).orElseThrow();
+        assertThat(lagging.getObservations()).isEqualTo(10L);
+        assertThat(lagging.getLastDate()).isEqualTo(START.plusDays(9));
+        // 이미 반영한 상품 1 의 행은 다시 누적하지 않음
+        assertThat(engine.getStatistics(1L).orElseThrow().getObservations()).isEqualTo(10L);
+        // 늦게 들어온 날짜도 이미 반영된 상품 1 의 같은 날짜 수익률과 쌍으로 반영
+        ProductCorrelationResponseDto correlation = engine.getCorrelation(1L, 2L).orElseThrow();
+        assertThat(correlation.getObservations()).isEqualTo(10L);
+
+        // 처음부터 한 번에 누적한 결과와 같음
+        ReturnStatisticsEngine batch = copyPriceLog(database).engine(90);
+        batch.update();
+        assertSameStatistics(lagging, batch.getStatistics(2L).orElseThrow());
+        assertSameStatistics(engine.getStatistics(1L).orElseThrow(), batch.getStatistics(1L).orElseThrow());
+        ProductCorrelationResponseDto expected = batch.getCorrelation(1L, 2L).orElseThrow();
+        assertThat(correlation.getObservations()).isEqualTo(expected.getObservations());
+        assertThat(correlation.getCorrelation()).isCloseTo(expected.getCorrelation(), within(1e-12));
+    }
+
+    @Test
+    void stoppedProductDoesNotPinStartPoint() {
+        Database database = new Database();
+        Random random = new Random(25);
+        for (int day = 0; day < 60; day++) {
+            database.insert(1L, START.plusDays(day), random.nextGaussian());
+            database.insert(2L, START.plusDays(day), random.nextGaussian());
+            // 상품 3 은 5일 뒤 수집이 끊김 (상장 폐지 등)
+            if (day < 5) database.insert(3L, START.plusDays(day), random.nextGaussian());
+        }
+        ReturnStatisticsEngine engine = database.engine(30, 7);
+        engine.update();
+        assertThat(database.watermark).isEqualTo(START.plusDays(59));
+
+        database.insert(1L, START.plusDays(60), random.nextGaussian());
+        database.insert(2L, START.plusDays(60), random.nextGaussian());
+        database.queriedAfter.clear();
+        assertThat(engine.update()).isEqualTo(1);
+
+        // 상품 3 의 last_date(4일) 가 아니라 기준일 - late-days 부터 조회
+        assertThat(database.queriedAfter).containsExactly(START.plusDays(59 - 7));
+        assertThat(database.watermark).isEqualTo(START.plusDays(60));
+        assertThat(engine.getStatistics(1L).orElseThrow().getObservations()).isEqualTo(61L);
+        assertThat(engine.getStatistics(3L).orElseThrow().getObservations()).isEqualTo(5L);
+    }
+
+    @Test
+    void missingWatermarkResumesFromLatestProductDate() {
+        // 기준일 테이블이 생기기 전에 저장된 통계
+        Database database = new Database();
+        Random random = new Random(26);
+        for (int day = 0; day < 40; day++) {
+            database.insert(1L, START.plusDays(day), random.nextGaussian());
+            if (day < 3) database.insert(2L, START.plusDays(day), random.nextGaussian());
+        }
+        database.engine(90).update();
+        database.watermark = null;
+
+        database.insert(1L, START.plusDays(40), random.nextGaussian());
+        database.queriedAfter.clear();
+        ReturnStatisticsEngine resumed = database.engine(90, 7);
+        resumed.update();
+
+        assertThat(database.queriedAfter).containsExactly(START.plusDays(39 - 7));
+        assertThat(resumed.getStatistics(1L).orElseThrow().getObservations()).isEqualTo(41L);
+    }
+
+    @Test
+    void resumedStateMatchesBatchRecomputation() {
+        // 상품별로 빠진 날이 있는 200일 치
+        Database full = new Database();
+        Random random = new Random(22);
+        for (int day = 0; day < 200; day++) {
+            for (long productId : PRODUCT_IDS) {
+                if (random.nextDouble() < 0.1) continue;
+                full.insert(productId, START.plusDays(day), random.nextGaussian() * productId);
+            }
+        }
+
+        // 120일까지 누적해 저장한 뒤, 새 엔진이 저장된 상태를 읽어 나머지를 이어서 누적
+        Database incremental = new Database();
+        full.priceLog.stream().filter(row -> row.getDate().isBefore(START.plusDays(120))).forEach(incremental.priceLog::add);
+        incremental.engine(7).update();
+        full.priceLog.stream().filter(row -> !row.getDate().isBefore(START.plusDays(120))).forEach(incremental.priceLog::add);
+        ReturnStatisticsEngine resumed = incremental.engine(7);
+        resumed.update();
+
+        ReturnStatisticsEngine batch = full.engine(365);
+        batch.update();
+
+        for (long productId : PRODUCT_IDS) {
+            assertSameStatistics(resumed.getStatistics(productId).orElseThrow(), batch.getStatistics(productId).orElseThrow());
+            for (long otherId : PRODUCT_IDS) {
+                ProductCorrelationResponseDto expected = batch.getCorrelation(productId, otherId).orElseThrow();
+                ProductCorrelationResponseDto actual = resumed.getCorrelation(productId, otherId).orElseThrow();
+                assertThat(actual.getObservations()).isEqualTo(expected.getObservations());
+                assertThat(actual.getCorrelation()).isCloseTo(expected.getCorrelation(), within(1e-12));
+            }
+        }
+    }
+
+    @Test
+    void welfordMatchesTwoPassStatistics() {
+        Database database = new Database();
+        Random random = new Random(23);
+        double[] rates = new double[300];
+        for (int day = 0; day < rates.length; day++) {
+            rates[day] = random.nextGaussian() * 0.8 + 0.02;
+            database.insert(1L, START.plusDays(day), rates[day]);
+        }
+        ReturnStatisticsEngine engine = database.engine(30);
+        engine.update();
+
+        double mean = 0.0;
+        for (double rate : rates) mean += rate * 0.01;
+        mean /= rates.length;
+        double sum = 0.0;
+        for (double rate : rates) sum += (rate * 0.01 - mean) * (rate * 0.01 - mean);
+        double variance = sum / (rates.length - 1);
+
+        ProductReturnStatisticsResponseDto statistics = engine.getStatistics(1L).orElseThrow();
+        assertThat(statistics.getObservations()).isEqualTo(300L);
+        assertThat(statistics.getAnnualReturn()).isCloseTo(mean * 252 * 100.0, within(1e-9));
+        assertThat(statistics.getVolatility()).isCloseTo(Math.sqrt(variance * 252) * 100.0, within(1e-9));
+    }
+
+    @Test
+    void updateIsIdempotent() {
+        Database database = new Database();
+        Random random = new Random(24);
+        for (int day = 0; day < 30; day++) {
+            database.insert(1L, START.plusDays(day), random.nextGaussian());
+            database.insert(2L, START.plusDays(day), random.nextGaussian());
+        }
+        ReturnStatisticsEngine engine = database.engine(7);
+
+        assertThat(engine.update()).isEqualTo(30);
+        assertThat(engine.update()).isZero();
+        assertThat(engine.getStatistics(1L).orElseThrow().getObservations()).isEqualTo(30L);
+    }
+
+    private static Database copyPriceLog(Database source) {
+        Database copy = new Database();
+        copy.priceLog.addAll(source.priceLog);
+        return copy;
+    }
+
+    private static void assertSameStatistics(ProductReturnStatisticsResponseDto actual, ProductReturnStatisticsResponseDto expected) {
+        assertThat(actual.getObservations()).isEqualTo(expected.getObservations());
+        assertThat(actual.getLastDate()).isEqualTo(expected.getLastDate());
+        assertThat(actual.getAnnualReturn()).isCloseTo(expected.getAnnualReturn(), within(1e-9));
+        assertThat(actual.getVolatility()).isCloseTo(expected.getVolatility(), within(1e-9));
+        assertThat(actual.getMaxDrawdown()).isCloseTo(expected.getMaxDrawdown(), within(1e-9));
+    }
+}
@@ -0,0 +1,162 @@
+package com.ygss.backend.recommend.component;
+
+import com.ygss.backend.recommend.dto.AllocationDto;
+import com.ygss.backend.recommend.dto.ProductRequestDto;
+import com.ygss.backend.recommend.dto.RecommendPortfolioResponse;
+import com.ygss.backend.recommend.risk.CovarianceEstimator;
+import com.ygss.backend.recommend.risk.CovarianceMatrix;
+import com.ygss.backend.recommend.risk.RiskModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MeanVarianceOptimizerTest {
+    private static final double MAX_WEIGHT = 0.5;
+    private static final double[] TARGET_VOLATILITY = {0.03, 0.06, 0.10, 0.15, 0.20};
+
+    /**
+     * 변동성이 클수록 기대 수익률도 큰 상품 n 개 (연 변동성 약 3% ~ 30%, 공통 요인으로 약한 양의 상관)
+     */
+    private static CovarianceMatrix covariance(int n, Random random) {
+        int days = 500;
+        double[] market = new double[days];
+        for (int t = 0; t < days; t++) market[t] = random.nextGaussian() * 0.002;
+        long[] ids = new long[n];
+        List<double[]> series = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1L;
+            double volatility = 0.002 + 0.017 * i / Math.max(1, n - 1);
+            double[] values = new double[days];
+            for (int t = 0; t < days; t++) values[t] = market[t] + random.nextGaussian() * volatility;
+            series.add(values);
+        }
+        return CovarianceEstimator.estimate(ids, series);
+    }
+
+    private static List<ProductRequestDto> products(int n) {
+        List<ProductRequestDto> products = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ProductRequestDto product = new ProductRequestDto();
+            product.setId(i + 1L);
+            product.setPredictedReturn(1.0 + 9.0 * i / Math.max(1, n - 1));
+            products.add(product);
+        }
+        return products;
+    }
+
+    private static MeanVarianceOptimizer optimizer(CovarianceMatrix covariance) {
+        return optimizer(covariance, TARGET_VOLATILITY);
+    }
+
+    private static MeanVarianceOptimizer optimizer(CovarianceMatrix covariance, double[] targetVolatility) {
+        RiskModel riskModel = mock(RiskModel.class);
+        when(riskModel.getCovariance()).thenReturn(covariance);
+        return new MeanVarianceOptimizer(riskModel, new PortfolioOptimizer(), targetVolatility, 500, 1e-6);
+    }
+
+    private static void assertFeasible(RecommendPortfolioResponse response) {
+        double sum = 0.0;
+        for (AllocationDto allocation : response.getAllocations()) {
+            assertThat(allocation.getAllocationPercentage()).isBetween(0.0, MAX_WEIGHT * 100.0 + 1e-6);
+            sum += allocation.getAllocationPercentage();
+        }
+        assertThat(sum).isCloseTo(100.0, within(1e-4));
+    }
+
+    @Test
+    void projectionIsFeasible() {
+        Random random = new Random(11);
+        for (int trial = 0; trial < 500; trial++) {
+            int n = 2 + random.nextInt(40);
+            double[] v = new double[n];
+            for (int i = 0; i < n; i++) v[i] = random.nextGaussian() * Math.pow(10, random.nextInt(5) - 2);
+
+            MeanVarianceOptimizer.projectCappedSimplex(v, n);
+
+            double sum = 0.0;
+            for (double w : v) {
+                assertThat(w).isBetween(0.0, MAX_WEIGHT);
+                sum += w;
+            }
+            assertThat(sum).isCloseTo(1.0, within(1e-9));
+        }
+    }
+
+    @Test
+    void projectionKeepsFeasiblePoint() {
+        double[] v = {0.5, 0.2, 0.2, 0.1};
+
+        MeanVarianceOptimizer.projectCappedSimplex(v, v.length);
+
+        assertThat(v).containsExactly(new double[]{0.5, 0.2, 0.2, 0.1}, within(1e-12));
+    }
+
+    @Test
+    void meetsTargetVolatilityWithFeasibleWeights() {
+        // 상품 5 개면 응답에 모든 비중이 담김, 등급 3 / 4 목표는 최소 분산과 최대 수익 포트폴리오 변동성 사이
+        int n = 5;
+        CovarianceMatrix covariance = covariance(n, new Random(12));
+        MeanVarianceOptimizer optimizer = optimizer(covariance);
+
+        for (long grade = 3; grade <= 4; grade++) {
+            RecommendPortfolioResponse response = optimizer.optimize(products(n), grade);
+
+            assertFeasible(response);
+            double target = TARGET_VOLATILITY[(int) grade - 1];
+            double volatility = response.getTotalRiskScore() / 100.0;
+            assertThat(volatility).isLessThanOrEqualTo(target * (1.0 + 1e-6));
+            // 목표보다 낮은 변동성 중 수익률이 가장 큰 해 -> 목표에 붙어 있음
+            assertThat(volatility).isGreaterThanOrEqualTo(target * 0.99);
+        }
+    }
+
+    @Test
+    void higherGradeNeverLowersExpectedReturn() {
+        int n = 20;
+        MeanVarianceOptimizer optimizer = optimizer(covariance(n, new Random(13)));
+
+        // 등급 1 목표(3%)는 공통 요인 변동성보다 낮아 도달 불가이므로 2 등급부터
+        double previous = Double.NEGATIVE_INFINITY;
+        for (long grade = 2; grade <= 5; grade++) {
+            RecommendPortfolioResponse response = optimizer.optimize(products(n), grade);
+            assertThat(response.getTotalExpectedReturn()).isGreaterThanOrEqualTo(previous - 1e-6);
+            assertThat(response.getTotalRiskScore() / 100.0).isLessThanOrEqualTo(TARGET_VOLATILITY[(int) grade - 1] * (1.0 + 1e-6));
+            for (AllocationDto allocation : response.getAllocations()) {
+                assertThat(allocation.getAllocationPercentage()).isBetween(0.0, MAX_WEIGHT * 100.0 + 1e-6);
+            }
+            previous = response.getTotalExpectedReturn();
+        }
+    }
+
+    @Test
+    void looseTargetReturnsMaxReturnPortfolio() {
+        int n = 5;
+        MeanVarianceOptimizer optimizer = optimizer(covariance(n, new Random(14)), new double[]{1.0});
+        List<ProductRequestDto> products = products(n);
+
+        RecommendPortfolioResponse response = optimizer.optimize(products, 1L);
+
+        // 가장 수익률이 큰 두 상품에 50% 씩 (PortfolioOptimizer.optimize 와 같은 기대 수익률)
+        assertFeasible(response);
+        assertThat(response.getTotalExpectedReturn())
+                .isCloseTo(new PortfolioOptimizer().optimize(products).getTotalExpectedReturn(), within(1e-9));
+    }
+
+    @Test
+    void fallsBackWithoutCovariance() {
+        MeanVarianceOptimizer optimizer = optimizer(CovarianceMatrix.empty());
+        List<ProductRequestDto> products = products(4);
+
+        RecommendPortfolioResponse response = optimizer.optimize(products, 3L);
+
+        assertThat(response.getTotalExpectedReturn())
+                .isCloseTo(new PortfolioOptimizer().optimize(products).getTotalExpectedReturn(), within(1e-12));
+    }
+}
@@ -0,0 +1,95 @@
+package com.ygss.backend.recommend.component;
+
+import com.ygss.backend.recommend.dto.AllocationDto;
+import com.ygss.backend.recommend.dto.ProductRequestDto;
+import com.ygss.backend.recommend.dto.RecommendPortfolioResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * greedy optimize 가 ojalgo LP(optimizeWithModel) 와 같은 결과를 내는지 비교
+ */
+class PortfolioOptimizerTest {
+    private final PortfolioOptimizer optimizer = new PortfolioOptimizer();
+
+    private static ProductRequestDto product(long id, Double predictedReturn) {
+        ProductRequestDto product = new ProductRequestDto();
+        product.setId(id);
+        product.setPredictedReturn(predictedReturn);
+        return product;
+    }
+
+    private void assertSameResult(List<ProductRequestDto> products) {
+        RecommendPortfolioResponse greedy = optimizer.optimize(products);
+        RecommendPortfolioResponse model = optimizer.optimizeWithModel(products);
+
+        double scale = Math.max(1.0, Math.abs(model.getTotalExpectedReturn()));
+        assertThat(greedy.getTotalExpectedReturn()).isCloseTo(model.getTotalExpectedReturn(), within(1e-6 * scale));
+        assertThat(greedy.getAllocations()).extracting(AllocationDto::getAssetCode)
+                .containsExactlyElementsOf(model.getAllocations().stream().map(AllocationDto::getAssetCode).toList());
+        assertThat(greedy.getAllocations()).extracting(AllocationDto::getExpectedReturn)
+                .containsExactlyElementsOf(model.getAllocations().stream().map(AllocationDto::getExpectedReturn).toList());
+    }
+
+    @Test
+    void matchesModelOnRandomInputs() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 1 + random.nextInt(60);
+            List<ProductRequestDto> products = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                // 음수 수익률, 누락(null) 포함
+                Double predictedReturn = random.nextInt(20) == 0 ? null : random.nextGaussian() * 5.0 + 2.0;
+                products.add(product(i + 1L, predictedReturn));
+            }
+            assertSameResult(products);
+        }
+    }
+
+    @Test
+    void matchesModelWithTiedReturns() {
+        // 같은 수익률은 앞선 상품이 먼저 (optimizeWithModel 의 안정 정렬과 같은 순서)
+        Random random = new Random(7);
+        for (int trial = 0; trial < 100; trial++) {
+            int n = 1 + random.nextInt(20);
+            List<ProductRequestDto> products = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                products.add(product(i + 1L, (double) random.nextInt(4)));
+            }
+            assertSameResult(products);
+        }
+    }
+
+    @Test
+    void singleProductFallsBackToEqualWeight() {
+        // n * MAX_WEIGHT < 1 이면 합 = 1 을 만들 수 없어 균등 배분
+        RecommendPortfolioResponse response = optimizer.optimize(List.of(product(1L, 3.0)));
+
+        assertThat(response.getTotalExpectedReturn()).isEqualTo(3.0);
+        assertThat(response.getAllocations()).extracting(AllocationDto::getAssetCode).containsExactly(1L);
+        assertSameResult(List.of(product(1L, 3.0)));
+    }
+
+    @Test
+    void fillsTopTwoAtMaxWeight() {
+        List<ProductRequestDto> products = List.of(
+                product(1L, 1.0), product(2L, 4.0), product(3L, 2.0), product(4L, 3.0));
+
+        RecommendPortfolioResponse response = optimizer.optimize(products);
+
+        assertThat(response.getTotalExpectedReturn()).isCloseTo(0.5 * 4.0 + 0.5 * 3.0, within(1e-12));
+        assertThat(response.getAllocations()).extracting(AllocationDto::getAssetCode).containsExactly(2L, 4L, 3L, 1L);
+    }
+
+    @Test
+    void emptyInput() {
+        assertThat(optimizer.optimize(List.of()).getAllocations()).isEmpty();
+        assertThat(optimizer.optimize(List.of()).getTotalExpectedReturn()).isEqualTo(0.0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.ygss.backend.recommend.risk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CovarianceEstimatorTest {
+
+    private static double[] randomSeries(Random random, int days, double volatility) {
+        double[] series = new double[days];
+        for (int t = 0; t < days; t++) series[t] = 0.0003 + random.nextGaussian() * volatility;
+        return series;
+    }
+
+    private static double sampleVariance(double[] series) {
+        double[] observed = Arrays.stream(series).filter(value -> !Double.isNaN(value)).toArray();
+        double mean = Arrays.stream(observed).average().orElse(0.0);
+        double sum = 0.0;
+        for (double value : observed) sum += (value - mean) * (value - mean);
+        return sum / (observed.length - 1);
+    }
+
+    @Test
+    void sparseSeriesKeepsVarianceOfObservedDays() {
+        // 이틀에 하루만 관측, 0 으로 채운 날까지 T - 1 로 나누면 분산이 절반 가까이로 줄어듦
+        double[] sparse = randomSeries(new Random(1), 250, 0.01);
+        for (int t = 0; t < sparse.length; t += 2) sparse[t] = Double.NaN;
+
+        CovarianceMatrix covariance = CovarianceEstimator.estimate(new long[]{1L}, List.of(sparse));
+
+        double expected = sampleVariance(sparse) * CovarianceEstimator.TRADING_DAYS;
+        assertThat(covariance.variance(0)).isCloseTo(expected, within(expected * 1e-9));
+    }
+
+    @Test
+    void sparseProductIsNotRankedSaferThanDenseProductWithSameVolatility() {
+        Random random = new Random(2);
+        double[] dense = randomSeries(random, 500, 0.01);
+        double[] sparse = randomSeries(random, 500, 0.01);
+        for (int t = 0; t < sparse.length; t++) {
+            if (t % 10 < 4) sparse[t] = Double.NaN;
+        }
+
+        CovarianceMatrix covariance = CovarianceEstimator.estimate(new long[]{1L, 2L}, List.of(dense, sparse));
+
+        // 같은 변동성에서 만든 두 상품의 분산 비율이 1 에 가까움 (보정 전에는 0.6 근처)
+        assertThat(covariance.variance(1) / covariance.variance(0)).isBetween(0.85, 1.15);
+    }
+
+    @Test
+    void sparseEstimateStaysPositiveSemiDefinite() {
+        Random random = new Random(3);
+        int n = 8;
+        long[] ids = new long[n];
+        double[][] series = new double[n][];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1L;
+            series[i] = randomSeries(random, 120, 0.005 + 0.002 * i);
+            for (int t = 0; t < series[i].length; t++) {
+                if (random.nextDouble() < 0.1 * (i % 3)) series[i][t] = Double.NaN;
+            }
+        }
+
+        CovarianceMatrix covariance = CovarianceEstimator.estimate(ids, Arrays.asList(series));
+
+        double[] sigma = covariance.subMatrix(new int[]{0, 1, 2, 3, 4, 5, 6, 7});
+        for (int trial = 0; trial < 200; trial++) {
+            double[] w = new double[n];
+            for (int i = 0; i < n; i++) w[i] = random.nextGaussian();
+            double quadratic = 0.0;
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) quadratic += w[i] * sigma[i * n + j] * w[j];
+            }
+            assertThat(quadratic).isGreaterThanOrEqualTo(-1e-12);
+        }
+    }
+
+    @Test
+    void denseSingleSeriesMatchesSampleVariance() {
+        double[] dense = randomSeries(new Random(4), 60, 0.02);
+
+        CovarianceMatrix covariance = CovarianceEstimator.estimate(new long[]{7L}, List.of(dense));
+
+        double expected = sampleVariance(dense) * CovarianceEstimator.TRADING_DAYS;
+        assertThat(covariance.variance(0)).isCloseTo(expected, within(expected * 1e-9));
+        assertThat(covariance.indexOf(7L)).isZero();
+    }
+}
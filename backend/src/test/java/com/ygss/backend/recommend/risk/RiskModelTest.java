@@ -0,0 +1,72 @@
+package com.ygss.backend.recommend.risk;
+
+import com.ygss.backend.product.dto.ProductDailyRateDto;
+import com.ygss.backend.product.repository.ProductPriceLogRespository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RiskModelTest {
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final int DAYS = 100;
+
+    private static ProductDailyRateDto row(long productId, LocalDate date, double dailyRate) {
+        ProductDailyRateDto row = new ProductDailyRateDto();
+        row.setProductId(productId);
+        row.setDate(date);
+        row.setDailyRate(dailyRate);
+        return row;
+    }
+
+    private static RiskModel riskModel(List<ProductDailyRateDto> rows, double minCoverage) {
+        ProductPriceLogRespository repository = mock(ProductPriceLogRespository.class);
+        when(repository.selectLatestDate()).thenReturn(START.plusDays(DAYS - 1));
+        when(repository.selectDailyRatesSince(any())).thenReturn(rows);
+        return new RiskModel(repository, event -> { }, 365, 20, minCoverage, 0.01);
+    }
+
+    /**
+     * 상품 1 : 매일, 상품 2 : 95%, 상품 3 : 50% 관측 (날짜순)
+     */
+    private static List<ProductDailyRateDto> rows() {
+        Random random = new Random(5);
+        List<ProductDailyRateDto> rows = new ArrayList<>();
+        for (int t = 0; t < DAYS; t++) {
+            LocalDate date = START.plusDays(t);
+            rows.add(row(1L, date, random.nextGaussian()));
+            if (t % 20 != 0) rows.add(row(2L, date, random.nextGaussian()));
+            if (t % 2 == 0) rows.add(row(3L, date, random.nextGaussian()));
+        }
+        return rows;
+    }
+
+    @Test
+    void excludesProductsBelowMinCoverage() {
+        RiskModel riskModel = riskModel(rows(), 0.9);
+
+        riskModel.reload();
+
+        CovarianceMatrix covariance = riskModel.getCovariance();
+        assertThat(covariance.size()).isEqualTo(2);
+        assertThat(covariance.indexOf(1L)).isNotNegative();
+        assertThat(covariance.indexOf(2L)).isNotNegative();
+        assertThat(covariance.indexOf(3L)).isEqualTo(-1);
+    }
+
+    @Test
+    void zeroCoverageOnlyAppliesMinObservations() {
+        RiskModel riskModel = riskModel(rows(), 0.0);
+
+        riskModel.reload();
+
+        assertThat(riskModel.getCovariance().indexOf(3L)).isNotNegative();
+    }
+}
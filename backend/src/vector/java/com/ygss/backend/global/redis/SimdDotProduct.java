@@ -0,0 +1,31 @@
+package com.ygss.backend.global.redis;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * JDK Vector API(jdk.incubator.vector) 기반 내적
+ * --add-modules jdk.incubator.vector 로 기동했을 때만 VectorMath 가 로드한다.
+ * incubator 모듈 경고가 이 클래스 컴파일에만 나도록 별도 source set(src/vector) 에 둠
+ */
+class SimdDotProduct implements DotProduct {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public float dot(float[] a, int offsetA, float[] b, int offsetB, int length) {
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, offsetA + i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, offsetB + i);
+            acc = va.fma(vb, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[offsetA + i] * b[offsetB + i];
+        }
+        return sum;
+    }
+}
@@ -253,6 +253,7 @@ CREATE TABLE `retire_pension_product_price_log`(
     `daily_rate` DOUBLE NOT NULL,
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP,
     `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX `idx_price_log_date` (`date`),
     FOREIGN KEY(`retire_pension_product_id`) REFERENCES `retire_pension_products`(`id`)
 		ON UPDATE CASCADE
         ON DELETE CASCADE
@@ -271,6 +272,46 @@ CREATE TABLE `bond_product_price_log`(
 		ON UPDATE CASCADE
         ON DELETE CASCADE
 ) COMMENT '채권 시계열 데이터 저장';
+-- 12. ETF/펀드 일간 수익률 누적 통계 (Welford) --
+CREATE TABLE `retire_pension_product_return_stats`(
+    `retire_pension_product_id` BIGINT PRIMARY KEY,
+    `observations` BIGINT NOT NULL COMMENT '반영한 일수',
+    `mean` DOUBLE NOT NULL COMMENT '일간 수익률 평균 (소수)',
+    `m2` DOUBLE NOT NULL COMMENT '평균 편차 제곱합',
+    `wealth` DOUBLE NOT NULL COMMENT '누적 가치 지수 (시작 1)',
+    `peak` DOUBLE NOT NULL COMMENT '누적 가치 지수 최고치',
+    `max_drawdown` DOUBLE NOT NULL COMMENT '최대 낙폭 (소수)',
+    `last_date` DATE NOT NULL COMMENT '마지막으로 반영한 날짜',
+    `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY(`retire_pension_product_id`) REFERENCES `retire_pension_products`(`id`)
+		ON UPDATE CASCADE
+        ON DELETE CASCADE
+) COMMENT 'ETF/펀드 일간 수익률 누적 통계';
+-- 13. ETF/펀드 상품 쌍 공통 관측일 누적 통계 (product_a_id < product_b_id) --
+CREATE TABLE `retire_pension_product_return_comoment`(
+    `product_a_id` BIGINT NOT NULL,
+    `product_b_id` BIGINT NOT NULL,
+    `observations` BIGINT NOT NULL COMMENT '두 상품 모두 수익률이 있는 일수',
+    `mean_a` DOUBLE NOT NULL,
+    `mean_b` DOUBLE NOT NULL,
+    `m2_a` DOUBLE NOT NULL,
+    `m2_b` DOUBLE NOT NULL,
+    `comoment` DOUBLE NOT NULL COMMENT '편차 곱의 합',
+    `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY(`product_a_id`, `product_b_id`),
+    FOREIGN KEY(`product_a_id`) REFERENCES `retire_pension_products`(`id`)
+		ON UPDATE CASCADE
+        ON DELETE CASCADE,
+    FOREIGN KEY(`product_b_id`) REFERENCES `retire_pension_products`(`id`)
+		ON UPDATE CASCADE
+        ON DELETE CASCADE
+) COMMENT 'ETF/펀드 상품 쌍 수익률 공동 통계';
+-- 14. ETF/펀드 누적 통계 수집 기준일 (단일 행) --
+CREATE TABLE `retire_pension_product_return_watermark`(
+    `id` TINYINT PRIMARY KEY COMMENT '항상 1',
+    `last_date` DATE NOT NULL COMMENT '마지막으로 조회를 마친 price_log 날짜',
+    `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) COMMENT 'ETF/펀드 누적 통계 증분 조회 시작점';
 
 -- 투자성향분석 --
 -- 1. 질문 --
@@ -321,7 +362,8 @@ CREATE TABLE `chat_logs` (
    `question` TEXT NOT NULL,
    `answer` TEXT NOT NULL,
    `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP,
-   `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+   `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+   INDEX `idx_chat_logs_sid_created_at` (`sid`, `created_at`)
 ) COMMENT '채팅방에 대한 로그를 기록';
 
 CREATE TABLE market (
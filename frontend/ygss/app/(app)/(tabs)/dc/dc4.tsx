@@ -4,7 +4,7 @@ import { ImageListData } from "@/components/organisms/ImageList";
 import ItemCarousel from "@/components/organisms/ItemCarousel";
 import { Colors } from "@/src/theme/colors";
 import { Picker } from "@react-native-picker/picker";
-import axios from "axios";
+import { fetchRecommendCompare } from "@/src/api/recommend";
 import { useRouter } from "expo-router";
 import { MotiView } from "moti";
 import React, { useEffect, useRef, useState } from "react";
@@ -27,7 +27,6 @@ import { LineChart } from "react-native-gifted-charts";
 import { SafeAreaView } from "react-native-safe-area-context";
 import { useSelector } from "react-redux";
 
-const API_URL = process.env.EXPO_PUBLIC_API_URL;
 
 // ===== 타입 (landing4에서 사용한 응답 타입)
 type CompareResp = {
@@ -154,10 +153,6 @@ export default function Dc4() {
       const profileSalaryWon = Number(profileSalary) || 0;
       const isWhatIf = inputSalary > 0 && inputSalary !== profileSalaryWon;
 
-      const url = isWhatIf
-        ? `${API_URL}/recommend/public/compare/dc`
-        : `${API_URL}/recommend/compare/dc`;
-
       const salaryWon = Number(isWhatIf ? inputSalary : profileSalaryWon);
       const mode: "public" | "auth" = isWhatIf ? "public" : "auth";
 
@@ -172,13 +167,9 @@ export default function Dc4() {
       const headers: any = mode === "auth" ? { Authorization: `A103 ${accessToken}` } : undefined;
       const params = { investorPersonalityId: Number(riskGradeId), salary: salaryWon };
 
-      console.log("[DC4] >>> REQUEST", { url, params, headers });
+      console.log("[DC4] >>> REQUEST", { mode, params, headers });
 
-      const resp = await axios.get<CompareResp>(url, {
-        headers,
-        params,
-        validateStatus: () => true,
-      });
+      const resp = await fetchRecommendCompare<CompareResp>("dc", mode, params, headers);
 
       console.log("[DC4] <<< RESPONSE", { status: resp.status, data: resp.data });
 
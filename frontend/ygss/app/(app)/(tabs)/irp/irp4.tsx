@@ -3,7 +3,7 @@ import { ImageListData } from "@/components/organisms/ImageList";
 import ItemCarousel from "@/components/organisms/ItemCarousel";
 import { Colors } from "@/src/theme/colors";
 import { Picker } from "@react-native-picker/picker";
-import axios from "axios";
+import { fetchRecommendCompare } from "@/src/api/recommend";
 import { useRouter } from "expo-router";
 import { MotiView } from "moti";
 import React, { useEffect, useMemo, useRef, useState } from "react";
@@ -27,7 +27,6 @@ import { LineChart } from "react-native-gifted-charts";
 import { SafeAreaView } from "react-native-safe-area-context";
 import { useSelector } from "react-redux";
 
-const API_URL = process.env.EXPO_PUBLIC_API_URL;
 
 // ===== 타입 (landing4에서 사용한 응답 타입)
 type CompareResp = {
@@ -169,11 +168,10 @@ export default function Irp4() {
             }
 
             // ② 새 입력이면 실제 호출
-            const url = `${API_URL}/recommend/compare/irp`;
             const params = { investorPersonalityId: risk, salary: salaryWon };
             const headers = { Authorization: `A103 ${accessToken}` };
 
-            const resp = await axios.get<CompareResp>(url, { params, headers, validateStatus: () => true });
+            const resp = await fetchRecommendCompare<CompareResp>("irp", "auth", params, headers);
 
             if (resp.status >= 400) {
                 setErrMsg(
@@ -0,0 +1,67 @@
+// src/api/recommend.ts
+import axios from "axios";
+
+const API_URL = process.env.EXPO_PUBLIC_API_URL;
+
+// 분석 중 화면을 최소한 이 시간만큼 보여줌 (예전 서버 2초 대기를 클라이언트로 옮김)
+const MIN_LOADING_MS = 2000;
+const POLL_INTERVAL_MS = 500;
+const POLL_TIMEOUT_MS = 30000;
+
+type JobStatus = "PENDING" | "RUNNING" | "DONE" | "FAILED";
+
+type JobResp<T> = {
+  jobId: string;
+  status: JobStatus;
+  result?: T;
+  message?: string;
+};
+
+export type CompareResult<T> = {
+  status: number;
+  data: T | any;
+};
+
+const sleep = (ms: number) => new Promise((resolve) => setTimeout(resolve, ms));
+
+/**
+ * 상품 추천 비교 작업 등록 → 완료될 때까지 조회
+ * 응답 형태는 기존 axios 응답과 같게 { status, data } 로 반환 (실패 시 status >= 400)
+ */
+export async function fetchRecommendCompare<T>(
+  type: "dc" | "irp",
+  mode: "public" | "auth",
+  params: { investorPersonalityId: number; salary: number },
+  headers?: Record<string, string>
+): Promise<CompareResult<T>> {
+  const base = mode === "public" ? `${API_URL}/recommend/public/compare` : `${API_URL}/recommend/compare`;
+  const startedAt = Date.now();
+
+  const submit = await axios.post<JobResp<T>>(`${base}/${type}/jobs`, null, {
+    headers,
+    params,
+    validateStatus: () => true,
+  });
+  if (submit.status >= 400) return { status: submit.status, data: submit.data };
+
+  const jobId = submit.data.jobId;
+  let job = submit.data;
+  while (job.status === "PENDING" || job.status === "RUNNING") {
+    if (Date.now() - startedAt > POLL_TIMEOUT_MS) {
+      return { status: 504, data: { message: "요청 시간이 초과되었어요." } };
+    }
+    await sleep(POLL_INTERVAL_MS);
+    const poll = await axios.get<JobResp<T>>(`${base}/jobs/${jobId}`, {
+      headers,
+      validateStatus: () => true,
+    });
+    if (poll.status >= 400) return { status: poll.status, data: poll.data };
+    job = poll.data;
+  }
+
+  const elapsed = Date.now() - startedAt;
+  if (elapsed < MIN_LOADING_MS) await sleep(MIN_LOADING_MS - elapsed);
+
+  if (job.status === "FAILED") return { status: 500, data: { message: job.message } };
+  return { status: 200, data: job.result as T };
+}